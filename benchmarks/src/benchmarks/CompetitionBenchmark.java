@@ -0,0 +1,33 @@
+package benchmarks;
+
+import game.competition.Competition;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@link Competition#playTurn()} over a field that never reaches the finish line.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompetitionBenchmark {
+    @Param({"10", "1000", "10000", "100000"})
+    public int fieldSize;
+
+    private Competition competition;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        competition = Fixtures.competition(fieldSize, Fixtures.ENDLESS_LENGTH);
+    }
+
+    @Benchmark
+    public int playTurn() {
+        competition.playTurn();
+        return competition.getTurn();
+    }
+}
@@ -0,0 +1,49 @@
+package benchmarks;
+
+import game.competition.Competition;
+import game.competition.Competitor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Finish notifications from many competitor threads at once, all landing in {@link Competition#competitorFinished}.
+ * every iteration starts from a fresh competition and the threads share out its field until every competitor has
+ * finished once, so the time is that of a whole field of real finishes; a competitor finishing again would take the
+ * cheap already finished path instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+@Threads(8)
+public class CompetitionUpdateBenchmark {
+    @Param({"100000"})
+    public int fieldSize;
+
+    private Competition competition;
+    private Competitor[] competitors;
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        competition = Fixtures.competition(fieldSize, Fixtures.ARENA_LENGTH);
+        List<Competitor> active = competition.getActiveCompetitors();
+        competitors = active.toArray(new Competitor[0]);
+        next.set(0);
+    }
+
+    @Benchmark
+    public int update() {
+        int finished = 0;
+        for (int i = next.getAndIncrement(); i < competitors.length; i = next.getAndIncrement()) {
+            competition.competitorFinished(competitors[i]);
+            finished++;
+        }
+        return finished;
+    }
+}
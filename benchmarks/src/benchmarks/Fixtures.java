@@ -0,0 +1,43 @@
+package benchmarks;
+
+import game.arena.WinterArena;
+import game.competition.SkiCompetition;
+import game.entities.sportsman.Skier;
+import game.enums.*;
+
+import java.util.Random;
+
+/**
+ * Rosters shared by the benchmarks, seeded so every run races the same field.
+ */
+final class Fixtures {
+    static final double ARENA_LENGTH = 1000;
+    /**
+     * an arena nobody finishes during a benchmark, even at top speed for billions of turns, yet finite so that
+     * finishing turns are still solved exactly (see {@link game.competition.Kinematics})
+     */
+    static final double ENDLESS_LENGTH = 1e15;
+
+    private Fixtures() {
+    }
+
+    /**
+     * @param fieldSize the number of competitors
+     * @param length the arena length, {@link #ENDLESS_LENGTH} for a race nobody finishes
+     * @return a downhill ski competition filled with {@code fieldSize} adult male skiers
+     */
+    static SkiCompetition competition(int fieldSize, double length) {
+        WinterArena arena = new WinterArena(length, SnowSurface.CRUD, WeatherCondition.SUNNY);
+        SkiCompetition competition = new SkiCompetition(arena, fieldSize, Discipline.DOWNHILL, League.ADULT, Gender.MALE);
+        Random random = new Random(42);
+        for (int i = 0; i < fieldSize; i++) {
+            competition.addCompetitor(skier(i, random));
+        }
+        return competition;
+    }
+
+    static Skier skier(int number, Random random) {
+        return new Skier("sk" + number, 17 + random.nextInt(13), Gender.MALE,
+                1 + random.nextDouble() * 5, 20 + random.nextDouble() * 60, Discipline.DOWNHILL);
+    }
+}
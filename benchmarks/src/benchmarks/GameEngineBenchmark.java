@@ -0,0 +1,49 @@
+package benchmarks;
+
+import game.GameEngine;
+import game.competition.Competition;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole race through {@link GameEngine#startRace(Competition)}, results printing included.
+ * Standard output is discarded while the benchmark runs so the console does not dominate the score.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class GameEngineBenchmark {
+    @Param({"10", "1000", "100000"})
+    public int fieldSize;
+
+    private Competition competition;
+    private PrintStream out;
+
+    @Setup(Level.Trial)
+    public void silence() {
+        out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void restore() {
+        System.setOut(out);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        competition = Fixtures.competition(fieldSize, Fixtures.ARENA_LENGTH);
+    }
+
+    @Benchmark
+    public int startRace() {
+        GameEngine.getInstance().startRace(competition);
+        return competition.getTurn();
+    }
+}
@@ -0,0 +1,49 @@
+package benchmarks;
+
+import game.competition.Competition;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole race over a large field: adding every competitor, then playing turns until the last one finishes.
+ * every field finishes in about the same number of turns, so the cost per turn, finishes and results included,
+ * is the race time over {@link Competition#getTurn()}; both should grow linearly with the field.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class LargeFieldBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int fieldSize;
+
+    /**
+     * a freshly filled field for every {@link #race(Field)}, kept out of {@link #fill()} so it is not built for nothing
+     */
+    @State(Scope.Thread)
+    public static class Field {
+        Competition competition;
+
+        @Setup(Level.Invocation)
+        public void setUp(LargeFieldBenchmark benchmark) {
+            competition = Fixtures.competition(benchmark.fieldSize, Fixtures.ARENA_LENGTH);
+        }
+    }
+
+    @Benchmark
+    public Competition fill() {
+        return Fixtures.competition(fieldSize, Fixtures.ARENA_LENGTH);
+    }
+
+    @Benchmark
+    public int race(Field field) {
+        Competition competition = field.competition;
+        while (competition.hasActiveCompetitors()) {
+            competition.playTurn();
+        }
+        return competition.getFinishedCompetitors().size();
+    }
+}
@@ -0,0 +1,25 @@
+package benchmarks;
+
+import game.enums.League;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link League#calcAccelerationBonus(double)} for an age in each league and one outside all of them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeagueBenchmark {
+    @Param({"14", "25", "45", "5"})
+    public double age;
+
+    @Benchmark
+    public double calcAccelerationBonus() {
+        return League.calcAccelerationBonus(age);
+    }
+}
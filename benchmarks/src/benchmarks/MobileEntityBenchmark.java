@@ -0,0 +1,43 @@
+package benchmarks;
+
+import game.competition.SkiCompetition;
+import game.entities.MobileEntity;
+import game.entities.sportsman.Skier;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single step of {@link MobileEntity#move(double)}, for a free entity and for a competitor attached to a store.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MobileEntityBenchmark {
+    private static final double FRICTION = 0.5;
+
+    private MobileEntity entity;
+    private Skier attached;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        entity = new MobileEntity(0, 4, 60);
+        SkiCompetition competition = Fixtures.competition(1, Fixtures.ENDLESS_LENGTH);
+        attached = (Skier) competition.getActiveCompetitors().get(0);
+    }
+
+    @Benchmark
+    public double move() {
+        entity.move(FRICTION);
+        return entity.getX();
+    }
+
+    @Benchmark
+    public double moveAttached() {
+        attached.move(FRICTION);
+        return attached.getX();
+    }
+}
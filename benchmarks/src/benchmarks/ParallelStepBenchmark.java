@@ -0,0 +1,55 @@
+package benchmarks;
+
+import game.competition.Competition;
+import game.competition.ParallelStepper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One turn played by a {@link ParallelStepper} over a field that never reaches the finish line, for comparison with
+ * {@link CompetitionBenchmark#playTurn()} at the same field size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelStepBenchmark {
+    @Param({"100000"})
+    public int fieldSize;
+
+    @Param({"1", "8", "32"})
+    public int workers;
+
+    @Param({"8192"})
+    public int chunkSize;
+
+    private ForkJoinPool pool;
+    private Competition competition;
+    private ParallelStepper stepper;
+
+    @Setup(Level.Trial)
+    public void startPool() {
+        pool = new ForkJoinPool(workers);
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        competition = Fixtures.competition(fieldSize, Fixtures.ENDLESS_LENGTH);
+        stepper = new ParallelStepper(competition, pool, chunkSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopPool() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int playTurn() {
+        stepper.playTurn();
+        return competition.getTurn();
+    }
+}
@@ -0,0 +1,90 @@
+package benchmarks;
+
+import game.competition.Competition;
+import game.trace.TraceRecorder;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole race played with and without a {@link TraceRecorder} recording every turn; the difference is the cost of
+ * recording on the thread playing the race, waiting for the writer included.
+ * closing the trace is left out of the measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TraceRecorderBenchmark {
+    @Param({"1000", "10000"})
+    public int fieldSize;
+
+    private Path path;
+
+    @Setup(Level.Trial)
+    public void createFile() throws IOException {
+        path = Files.createTempFile("benchmark", ".trace");
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * a freshly filled field for every race
+     */
+    @State(Scope.Thread)
+    public static class Field {
+        Competition competition;
+
+        @Setup(Level.Invocation)
+        public void setUp(TraceRecorderBenchmark benchmark) {
+            competition = Fixtures.competition(benchmark.fieldSize, Fixtures.ARENA_LENGTH);
+        }
+    }
+
+    /**
+     * a freshly filled field with a recorder started on it for every race
+     */
+    @State(Scope.Thread)
+    public static class RecordedField {
+        Competition competition;
+        TraceRecorder recorder;
+
+        @Setup(Level.Invocation)
+        public void setUp(TraceRecorderBenchmark benchmark) throws IOException {
+            competition = Fixtures.competition(benchmark.fieldSize, Fixtures.ARENA_LENGTH);
+            recorder = new TraceRecorder(benchmark.path, competition);
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() throws IOException {
+            recorder.close();
+        }
+    }
+
+    @Benchmark
+    public int race(Field field) {
+        Competition competition = field.competition;
+        while (competition.hasActiveCompetitors()) {
+            competition.playTurn();
+        }
+        return competition.getTurn();
+    }
+
+    @Benchmark
+    public int raceRecorded(RecordedField field) throws IOException {
+        Competition competition = field.competition;
+        while (competition.hasActiveCompetitors()) {
+            competition.playTurn();
+            field.recorder.record();
+        }
+        return field.recorder.getFrameCount();
+    }
+}
@@ -3,8 +3,13 @@ package game;
 import game.arena.WinterArena;
 import game.competition.Competition;
 import game.competition.Competitor;
+import game.metrics.EngineMetrics;
+import game.trace.TraceRecorder;
 import utilities.ValidationUtils;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 public class GameEngine {
 
 	private static GameEngine instance;
@@ -26,13 +31,54 @@ public class GameEngine {
 	}
 
 
+	/**
+	 * run a whole race on the calling thread, one {@link Competition#playTurn()} per step.
+	 * no competitor threads are started and the results are the same on every run.
+	 * @param competition the competition to race
+	 */
 	public void startRace(Competition competition) {
 		ValidationUtils.assertNotNull(competition);
-		int step;
-		for(step = 0 ; competition.hasActiveCompetitors() ; step++){
+		long start = System.nanoTime();
+		while(competition.hasActiveCompetitors()){
 			competition.playTurn();
 		}
-		System.out.println("race finished in " + step + " steps");
+		EngineMetrics.getInstance().recordRace(System.nanoTime() - start);
+		System.out.println("race finished in " + competition.getTurn() + " steps");
+		printResults(competition);
+	}
+
+	/**
+	 * run a whole race as by {@link #startRace(Competition)}, recording every turn to a trace file
+	 * that {@link game.trace.TraceReader} can replay.
+	 * @param competition the competition to race
+	 * @param trace the trace file, replaced if it exists
+	 */
+	public void startRace(Competition competition, Path trace) throws IOException {
+		ValidationUtils.assertNotNull(competition);
+		long start = System.nanoTime();
+		try (TraceRecorder recorder = new TraceRecorder(trace, competition)) {
+			while(competition.hasActiveCompetitors()){
+				competition.playTurn();
+				recorder.record();
+			}
+		}
+		EngineMetrics.getInstance().recordRace(System.nanoTime() - start);
+		System.out.println("race finished in " + competition.getTurn() + " steps");
+		printResults(competition);
+	}
+
+	/**
+	 * run a whole race without stepping it: every finishing turn is solved analytically
+	 * and the results are printed as by {@link #startRace(Competition)}.
+	 * @param competition the competition to race
+	 * @see Competition#fastForward()
+	 */
+	public void fastForwardRace(Competition competition) {
+		ValidationUtils.assertNotNull(competition);
+		long start = System.nanoTime();
+		competition.fastForward();
+		EngineMetrics.getInstance().recordRace(System.nanoTime() - start);
+		System.out.println("race finished in " + competition.getTurn() + " steps");
 		printResults(competition);
 	}
 
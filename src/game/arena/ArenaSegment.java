@@ -0,0 +1,53 @@
+package game.arena;
+
+import game.enums.SnowSurface;
+import game.enums.WeatherCondition;
+import utilities.ValidationUtils;
+
+/**
+ * A stretch of an arena with a single surface and weather.
+ */
+public final class ArenaSegment {
+    private final double length;
+    private final SnowSurface surface;
+    private final WeatherCondition condition;
+
+    /**
+     * @param length the length of the stretch
+     * @param surface the snow surface along the stretch
+     * @param condition the weather along the stretch
+     * @throws IllegalArgumentException if the length is not positive
+     */
+    public ArenaSegment(double length, SnowSurface surface, WeatherCondition condition) {
+        ValidationUtils.assertPositive(length);
+        ValidationUtils.assertNotNull(surface);
+        ValidationUtils.assertNotNull(condition);
+        this.length = length;
+        this.surface = surface;
+        this.condition = condition;
+    }
+
+    public double getLength() {
+        return length;
+    }
+
+    public SnowSurface getSurface() {
+        return surface;
+    }
+
+    public WeatherCondition getCondition() {
+        return condition;
+    }
+
+    /**
+     * @return the friction of the surface, made worse by the weather
+     */
+    public double getFriction() {
+        return surface.getFriction() * condition.getFrictionFactor();
+    }
+
+    @Override
+    public String toString() {
+        return length + " of " + surface + " in " + condition;
+    }
+}
@@ -0,0 +1,104 @@
+package game.arena;
+
+import utilities.ValidationUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The friction along an arena made of segments, as tables built once with the arena.
+ * segment k covers the positions from {@link #getStart(int)} up to, not including, {@link #getEnd(int)}; the ends
+ * are the prefix sums of the segment lengths. positions before the start line are in the first segment and
+ * positions past the finish line in the last one.
+ * looking up the segment of a position is a division when all segments have the same length and a binary search
+ * over the ends otherwise.
+ */
+public final class FrictionProfile {
+    private final double[] ends;
+    private final double[] friction;
+    /** the length shared by every segment, or 0 if they differ */
+    private final double segmentLength;
+
+    /**
+     * @param segments the segments of the arena from the start line, at least one
+     */
+    public FrictionProfile(List<ArenaSegment> segments) {
+        ValidationUtils.assertNotNull(segments);
+        ValidationUtils.assertPositive(segments.size());
+        ends = new double[segments.size()];
+        friction = new double[segments.size()];
+        double end = 0;
+        boolean sameLength = true;
+        for (int k = 0; k < segments.size(); k++) {
+            ArenaSegment segment = segments.get(k);
+            end += segment.getLength();
+            ends[k] = end;
+            friction[k] = segment.getFriction();
+            sameLength &= segment.getLength() == segments.get(0).getLength();
+        }
+        segmentLength = sameLength ? segments.get(0).getLength() : 0;
+    }
+
+    /**
+     * @return the index of the segment a position is in
+     */
+    public int segmentAt(double x) {
+        int last = ends.length - 1;
+        if (last == 0 || !(x < ends[last - 1])) {
+            return last;
+        }
+        if (segmentLength > 0) {
+            int k = Math.max(0, (int) (x / segmentLength));
+            // rounding of the division can land one segment off the prefix sums
+            if (k > 0 && x < ends[k - 1]) {
+                k--;
+            } else if (!(x < ends[k])) {
+                k++;
+            }
+            return k;
+        }
+        int k = Arrays.binarySearch(ends, 0, last, x);
+        return k >= 0 ? k + 1 : -k - 1;
+    }
+
+    /**
+     * @return the friction at a position
+     */
+    public double frictionAt(double x) {
+        return friction.length == 1 ? friction[0] : friction[segmentAt(x)];
+    }
+
+    /**
+     * @return whether the friction is the same all along the arena
+     */
+    public boolean isUniform() {
+        return friction.length == 1;
+    }
+
+    public int getSegmentCount() {
+        return ends.length;
+    }
+
+    public double getStart(int segment) {
+        return segment == 0 ? 0 : ends[segment - 1];
+    }
+
+    /**
+     * @return the position where the segment ends, or positive infinity for the last one, which runs on past the
+     * finish line
+     */
+    public double getEnd(int segment) {
+        return segment == ends.length - 1 ? Double.POSITIVE_INFINITY : ends[segment];
+    }
+
+    public double getFriction(int segment) {
+        return friction[segment];
+    }
+
+    /**
+     * @return the total length of the segments
+     */
+    public double getLength() {
+        return ends[ends.length - 1];
+    }
+}
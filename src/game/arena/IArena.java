@@ -6,7 +6,22 @@ import game.entities.IMobileEntity;
  * Created by itzhak on 25-Mar-19.
  */
 public interface IArena {
+    /**
+     * @return the friction at the start line
+     */
     double getFriction();
     boolean isFinished(IMobileEntity mobileEntity);
     double getLength();
+
+    /**
+     * @return the friction of every stretch of the arena
+     */
+    FrictionProfile getFrictionProfile();
+
+    /**
+     * @return the friction at a position along the arena
+     */
+    default double getFriction(double x) {
+        return getFrictionProfile().frictionAt(x);
+    }
 }
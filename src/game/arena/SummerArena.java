@@ -5,14 +5,16 @@ import game.enums.WeatherCondition;
 import game.enums.SnowSurface;
 import utilities.ValidationUtils;
 
+import java.util.List;
+
 /**
  * Represents a Summer Arena for competitions.
  */
 public class SummerArena implements IArena {
 
     private double length;
-    private final SnowSurface surface;
-    private final WeatherCondition condition;
+    private final List<ArenaSegment> segments;
+    private final FrictionProfile profile;
 
     /**
      * Constructor for a generic summer arena
@@ -22,32 +24,59 @@ public class SummerArena implements IArena {
      * @param condition the weather condition in the arena
      */
     public SummerArena(double length, SnowSurface surface, WeatherCondition condition) {
-        this.length = length;
-        this.surface = surface;
-        this.condition = condition;
+        this(List.of(new ArenaSegment(length, surface, condition)));
+    }
+
+    /**
+     * Ctor for an arena made of stretches of different surfaces and weather
+     * @param segments the stretches of the arena from the start line; the finish line is at the end of the last one
+     */
+    public SummerArena(List<ArenaSegment> segments) {
+        ValidationUtils.assertNotNull(segments);
+        this.segments = List.copyOf(segments);
+        this.profile = new FrictionProfile(this.segments);
+        this.length = profile.getLength();
     }
 
     @Override
     public double getFriction() {
-        return surface.getFriction(); // Use the same friction model as WinterArena
+        return profile.getFriction(0); // Use the same friction model as WinterArena
+    }
+
+    @Override
+    public FrictionProfile getFrictionProfile() {
+        return profile;
     }
 
     @Override
     public boolean isFinished(IMobileEntity mobileEntity) {
         ValidationUtils.assertNotNull(mobileEntity);
-        return mobileEntity.getLocation().getX() >= length;
+        return mobileEntity.getX() >= length;
     }
 
     public double getLength() {
         return length;
     }
 
+    /**
+     * @return the surface at the start line
+     */
     public SnowSurface getSurface() {
-        return surface;
+        return segments.get(0).getSurface();
     }
 
+    /**
+     * @return the weather at the start line
+     */
     public WeatherCondition getCondition() {
-        return condition;
+        return segments.get(0).getCondition();
+    }
+
+    /**
+     * @return the stretches of the arena from the start line
+     */
+    public List<ArenaSegment> getSegments() {
+        return segments;
     }
 
 
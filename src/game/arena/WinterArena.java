@@ -5,14 +5,16 @@ import game.enums.WeatherCondition;
 import game.enums.SnowSurface;
 import utilities.ValidationUtils;
 
+import java.util.List;
+
 /**
  * Created by itzhak on 07-Mar-19.
  */
 public class WinterArena implements IArena {
 
     private  double length;
-    private final SnowSurface surface;
-    private final WeatherCondition condition;
+    private final List<ArenaSegment> segments;
+    private final FrictionProfile profile;
 
 
     /**
@@ -20,26 +22,62 @@ public class WinterArena implements IArena {
      * @param length the length of the arena
      * @param surface the snow surface of the arena
      * @param condition the weather condition in the arena
+     * @throws IllegalArgumentException if the length is not positive
      */
     public WinterArena(double length, SnowSurface surface, WeatherCondition condition) {
-        this.length = length;
-        this.surface = surface;
-        this.condition = condition;
+        this(List.of(new ArenaSegment(length, surface, condition)));
+    }
+
+    /**
+     * Ctor for an arena made of stretches of different surfaces and weather
+     * @param segments the stretches of the arena from the start line; the finish line is at the end of the last one
+     */
+    public WinterArena(List<ArenaSegment> segments) {
+        ValidationUtils.assertNotNull(segments);
+        this.segments = List.copyOf(segments);
+        this.profile = new FrictionProfile(this.segments);
+        this.length = profile.getLength();
     }
 
     @Override
     public double getFriction(){
-        return surface.getFriction();
+        return profile.getFriction(0);
+    }
+
+    @Override
+    public FrictionProfile getFrictionProfile() {
+        return profile;
     }
 
     @Override
     public boolean isFinished(IMobileEntity mobileEntity) {
         ValidationUtils.assertNotNull(mobileEntity);
-        return mobileEntity.getLocation().getX() >= length;
+        return mobileEntity.getX() >= length;
     }
     
     public double getLength() {
     	return length;
     }
 
+    /**
+     * @return the surface at the start line
+     */
+    public SnowSurface getSurface() {
+        return segments.get(0).getSurface();
+    }
+
+    /**
+     * @return the weather at the start line
+     */
+    public WeatherCondition getCondition() {
+        return segments.get(0).getCondition();
+    }
+
+    /**
+     * @return the stretches of the arena from the start line
+     */
+    public List<ArenaSegment> getSegments() {
+        return segments;
+    }
+
 }
@@ -1,45 +1,116 @@
 package game.competition;
 
+import game.arena.FrictionProfile;
 import game.arena.IArena;
+import game.enums.ExecutionMode;
+import game.events.EventBus;
+import game.events.Finished;
+import game.events.Overtake;
+import game.events.PositionChanged;
+import game.metrics.EngineMetrics;
 import utilities.Point;
 import utilities.ValidationUtils;
 
 import java.util.ArrayList;
-import java.util.Observable;
-import java.util.Observer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 
-public abstract class Competition implements Observer {
+public abstract class Competition {
+    private static final EngineMetrics METRICS = EngineMetrics.getInstance();
+    /** the place of a competitor that crossed the finish line and is still being given the next place */
+    public static final int PLACE_PENDING = Integer.MAX_VALUE;
+    /** rows allocated up front; storage grows with the competitors added, never past {@link #getMaxCompetitors()} */
+    private static final int INITIAL_CAPACITY = 16;
+
     private IArena arena;
-    private final ArrayList<Competitor> activeCompetitors;
-    private final ArrayList<Competitor> finishedCompetitors;
+    /** replaced only while adding competitors, never while the race runs */
+    private volatile AtomicReferenceArray<Competitor> finishedCompetitors;
+    private final AtomicInteger finishedCount;
+    /**
+     * the place of every row, 0 while racing and {@link #PLACE_PENDING} while a finishing thread takes its place;
+     * replaced only while adding competitors, never while the race runs
+     */
+    private volatile AtomicIntegerArray finished;
+    private final AtomicInteger activeCount;
+    private final ArrayList<Competitor> competitors;
+    private final IdentityHashMap<Competitor, Integer> rows;
     private final int maxCompetitors;
-    private double y;
+    private int turn;
+    private ExecutorService executor;
+    private final CompetitorStore store;
+    private int[] activeRows;
+    private int[] activePositions;
+    private int activeRowCount;
+    private final FinishQueue finishQueue;
+    private final EventBus eventBus;
+    private volatile SnapshotBuffer snapshots;
+    private int snapshotReaders;
+    private Drafting drafting;
+    private PositionOrder order;
+    private boolean orderCurrent;
+    private int[] finishing;
+    /** rows whose motion was changed from outside since the last turn, guarded by this competition */
+    private final BitSet changedRows = new BitSet();
+    private volatile boolean motionChanged;
+    private final PositionOrder.OvertakeListener overtakes = this::publishOvertake;
 
     public Competition(IArena arena, int maxCompetitors) {
+        int capacity = Math.max(0, Math.min(maxCompetitors, INITIAL_CAPACITY));
         this.maxCompetitors = maxCompetitors;
-        this.activeCompetitors = new ArrayList<>();
-        this.finishedCompetitors = new ArrayList<>();
+        this.finishedCompetitors = new AtomicReferenceArray<>(capacity);
+        this.finishedCount = new AtomicInteger();
+        this.finished = new AtomicIntegerArray(capacity);
+        this.activeCount = new AtomicInteger();
+        this.competitors = new ArrayList<>(capacity);
+        this.rows = new IdentityHashMap<>(capacity);
         this.arena = arena;
-        y=0;
+        this.store = new CompetitorStore(capacity);
+        this.activeRows = new int[capacity];
+        this.activePositions = new int[capacity];
+        this.finishQueue = new FinishQueue(capacity);
+        this.eventBus = new EventBus();
     }
 
     protected abstract boolean isValidCompetitor(Competitor competitor);
 
+    /**
+     * add a competitor on the next free lane: the y position of a competitor is its lane number, the same as its row
+     * in the store, and how far apart lanes are drawn is up to whoever draws them.
+     * takes amortized constant time, as storage grows with the competitors added, except for the snapshot published
+     * when someone reads them (see {@link #newSnapshot()})
+     * @throws IllegalStateException if the competition already has {@link #getMaxCompetitors()} competitors
+     */
     public void addCompetitor(Competitor competitor){
         ValidationUtils.assertNotNull(competitor);
-        if(maxCompetitors <= activeCompetitors.size()){
+        if(maxCompetitors <= competitors.size()){
             throw new IllegalStateException("WinterArena is full max = "+ maxCompetitors);
         }
         else {
-        	Point s = new Point(0, y);
-        	Point f = new Point(arena.getLength(), y);
+            int lane = competitors.size();
+            if(lane == activeRows.length){
+                grow();
+            }
+        	Point s = new Point(0, lane);
+        	Point f = new Point(arena.getLength(), lane);
+            int row = store.add(s.getX(), s.getY(), competitor.getSpeed(), competitor.getAcceleration(), competitor.getMaxSpeed());
+            competitor.attach(store, row);
             competitor.initRace(s,f,arena);
-            activeCompetitors.add(competitor);
-            competitor.addObserver(this);
-            y += 75;
+            competitors.add(competitor);
+            rows.put(competitor, row);
+            activate(row);
+            activeCount.incrementAndGet();
+            scheduleFinish(row);
+            competitor.setCompetition(this);
+            orderCurrent = false;
+            publishSnapshot();
         }
         /*
         if(isValidCompetitor(competitor)){
@@ -56,46 +127,591 @@ public abstract class Competition implements Observer {
     }
     
 
-    @Deprecated
+    /**
+     * double the rows allocated for competitors, up to {@link #getMaxCompetitors()}; only called while adding
+     * competitors, before any competitor runs on its own thread
+     */
+    private void grow(){
+        int capacity = (int) Math.min(maxCompetitors, Math.max(INITIAL_CAPACITY, 2L * activeRows.length));
+        activeRows = Arrays.copyOf(activeRows, capacity);
+        activePositions = Arrays.copyOf(activePositions, capacity);
+        AtomicIntegerArray places = new AtomicIntegerArray(capacity);
+        AtomicReferenceArray<Competitor> results = new AtomicReferenceArray<>(capacity);
+        for(int row = 0; row < finished.length(); row++){
+            places.set(row, finished.get(row));
+            results.set(row, finishedCompetitors.get(row));
+        }
+        finished = places;
+        finishedCompetitors = results;
+    }
+
+    /**
+     * advance every active competitor by a single step on the calling thread, moving the active rows in one
+     * pass over the competition {@link CompetitorStore}.
+     * only competitors predicted to reach the finish line this turn (see {@link Kinematics}) are checked against it;
+     * a prediction is made one turn early and checked again on the next turn if the competitor is not there yet.
+     * competitors moved or given a new acceleration between turns are predicted again (see {@link #motionChanged(Competitor)}).
+     * with {@link #setDrafting(Drafting) drafting} on, predictions no longer hold and the competitors at the front
+     * of the position order are checked instead.
+     * competitors that cross the finish line on the same turn are ranked in the order they were added,
+     * so repeated races over the same roster always produce the same results.
+     * the active competitors are kept in position order while drafting is on or anyone subscribes to
+     * {@link Overtake} events, which are published for every competitor that passed another one this turn.
+     * events of the turn are delivered to the subscribers of {@link #getEventBus()} before returning,
+     * and a new snapshot is published if anyone reads them (see {@link #newSnapshot()}).
+     * must not be mixed with {@link #startCompetition()} on the same competition.
+     * @see ParallelStepper
+     */
     public void playTurn(){
-        ArrayList<Competitor> tmp = new ArrayList<>(activeCompetitors);
-        for(Competitor competitor: tmp){
-            if(!arena.isFinished(competitor)){
-                competitor.move(arena.getFriction());
-                if(arena.isFinished(competitor)){
-                    finishedCompetitors.add(competitor);
-                    activeCompetitors.remove(competitor);
+        playTurn(null);
+    }
+
+    /**
+     * play a turn as by {@link #playTurn()}, moving the competitors with the given stepper if not null
+     */
+    void playTurn(ParallelStepper stepper){
+        long start = System.nanoTime();
+        if(motionChanged){
+            rescheduleChanged();
+        }
+        int moved = activeRowCount;
+        boolean reportOvertakes = eventBus.hasSubscribers(Overtake.class);
+        if(drafting == null && !reportOvertakes){
+            orderCurrent = false;
+        }
+        else if(!orderCurrent){
+            if(order == null){
+                order = new PositionOrder(activeRowCount);
+            }
+            order.rebuild(store, activeRows, activeRowCount);
+            orderCurrent = true;
+        }
+        int count = drafting != null ? order.size() : activeRowCount;
+        if(stepper == null){
+            moveRange(0, count);
+        }
+        else{
+            stepper.moveAll(count);
+        }
+        turn++;
+        if(orderCurrent){
+            order.resort(store, reportOvertakes ? overtakes : null);
+        }
+        if(eventBus.hasSubscribers(PositionChanged.class)){
+            for(int i = 0; i < activeRowCount; i++){
+                int row = activeRows[i];
+                eventBus.publish(new PositionChanged(competitors.get(row), turn, store.getX(row), store.getSpeed(row)));
+            }
+        }
+        if(drafting != null){
+            finishLeaders();
+        }
+        else{
+            while(!finishQueue.isEmpty() && FinishQueue.turnOf(finishQueue.peek()) <= turn){
+                int row = FinishQueue.rowOf(finishQueue.poll());
+                if(activePositions[row] < 0){
+                    continue;
+                }
+                if(arena.isFinished(competitors.get(row))){
+                    deactivate(row);
+                    recordFinish(row);
+                }
+                else{
+                    scheduleFinish(row);
                 }
             }
+            if(orderCurrent){
+                order.dropInactive(activePositions);
+            }
+        }
+        publishSnapshot();
+        eventBus.flush();
+        METRICS.recordTick(System.nanoTime() - start, moved);
+    }
+
+    /**
+     * move the competitors of a range of the turn by one step: active rows in no particular order, or rows of the
+     * position order when drafting. moving a range never reads what moving another range writes
+     * @param from the first index of the range
+     * @param to the index past the last one of the range
+     */
+    void moveRange(int from, int to){
+        if(drafting != null){
+            order.move(store, arena.getFrictionProfile(), drafting, from, to);
+        }
+        else{
+            store.move(arena.getFrictionProfile(), activeRows, from, to);
+        }
+    }
+
+    /**
+     * finish the competitors at the front of the position order that crossed the finish line, in row order
+     */
+    private void finishLeaders(){
+        int first = order.first();
+        int end = first;
+        while(end < order.end() && arena.isFinished(competitors.get(order.rowAt(end)))){
+            end++;
+        }
+        if(end == first){
+            return;
+        }
+        int count = end - first;
+        if(finishing == null || finishing.length < count){
+            finishing = new int[Math.max(count, order.size())];
+        }
+        for(int i = 0; i < count; i++){
+            finishing[i] = order.rowAt(first + i);
+        }
+        Arrays.sort(finishing, 0, count);
+        for(int i = 0; i < count; i++){
+            deactivate(finishing[i]);
+            recordFinish(finishing[i]);
+        }
+        order.dropBefore(end);
+    }
+
+    private void publishOvertake(int row, int overtakenRow){
+        eventBus.publish(new Overtake(competitors.get(row), turn, competitors.get(overtakenRow)));
+    }
+
+    /**
+     * turn drafting on or off for the next turns played by {@link #playTurn()}; competitors running on their own
+     * threads never draft
+     * @param drafting the slipstream rule, or null for none
+     */
+    public void setDrafting(Drafting drafting) {
+        this.drafting = drafting;
+        orderCurrent = false;
+    }
+
+    /**
+     * @return the slipstream rule of the race, or null if competitors do not draft
+     */
+    public Drafting getDrafting() {
+        return drafting;
+    }
+
+    /**
+     * finish the race without playing it turn by turn.
+     * the finishing turn of every active competitor is solved from the motion model (see {@link Kinematics}),
+     * and only competitors whose finishing turn can not be solved exactly are stepped, one at a time.
+     * the finishing order and turn count are the ones {@link #playTurn()} would produce; speeds and positions agree
+     * up to floating point rounding.
+     * with {@link #setDrafting(Drafting) drafting} on the race has no closed form, and the turns are played instead.
+     * @throws IllegalStateException if an active competitor can never reach the finish line, or only after more turns
+     * than the turn count can hold
+     */
+    public void fastForward(){
+        if(drafting != null){
+            Competitor stuck = findNeverFinishing();
+            if(stuck != null){
+                throw new IllegalStateException(stuck + " can never finish the race");
+            }
+            while(hasActiveCompetitors()){
+                playTurn();
+            }
+            return;
+        }
+        orderCurrent = false;
+        FrictionProfile profile = arena.getFrictionProfile();
+        double length = arena.getLength();
+        double[] motion = new double[2];
+        long[] finishes = new long[activeRowCount];
+        int count = 0;
+        for(int i = 0; i < activeRowCount; i++){
+            int row = activeRows[i];
+            motion[0] = store.getX(row);
+            motion[1] = store.getSpeed(row);
+            long steps = Kinematics.stepsToReach(motion, store.getAcceleration(row), store.getMaxSpeed(row), profile, length);
+            if(steps == Kinematics.NEVER){
+                throw new IllegalStateException(competitors.get(row) + " can never finish the race");
+            }
+            if(steps == Kinematics.UNRESOLVED){
+                finishes[count++] = -row - 1;
+            }
+            else{
+                checkFinishTurn(row, steps);
+                store.setLocation(row, motion[0], store.getY(row));
+                store.setSpeed(row, motion[1]);
+                finishes[count++] = FinishQueue.event(steps, row);
+            }
+        }
+        for(int i = 0; i < count; i++){
+            if(finishes[i] < 0){
+                int row = (int) -(finishes[i] + 1);
+                finishes[i] = FinishQueue.event(stepRow(row, profile, length), row);
+            }
         }
+        Arrays.sort(finishes, 0, count);
+        for(int i = 0; i < count; i++){
+            deactivate(FinishQueue.rowOf(finishes[i]));
+            recordFinish(FinishQueue.rowOf(finishes[i]));
+        }
+        finishQueue.clear();
+        if(count > 0){
+            turn += (int) FinishQueue.turnOf(finishes[count - 1]);
+        }
+        publishSnapshot();
+        eventBus.flush();
+    }
+
+    /**
+     * find a competitor the motion model says will never reach the finish line, such as one without acceleration
+     * that stands still; with {@link #setDrafting(Drafting) drafting} on, competitors are assumed to draft all the way.
+     * must not be called while turns are being played
+     * @return the first such active competitor, or null if every active competitor finishes
+     */
+    public Competitor findNeverFinishing(){
+        FrictionProfile profile = arena.getFrictionProfile();
+        double frictionFactor = drafting != null ? drafting.getFrictionFactor() : 1;
+        double[] motion = new double[2];
+        for(int i = 0; i < activeRowCount; i++){
+            int row = activeRows[i];
+            motion[0] = store.getX(row);
+            motion[1] = store.getSpeed(row);
+            if(Kinematics.stepsToReach(motion, store.getAcceleration(row), store.getMaxSpeed(row), profile,
+                    frictionFactor, arena.getLength()) == Kinematics.NEVER){
+                return competitors.get(row);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * the turn count is an int and finish events pack the turn in 32 bits, so a finish further away than that is
+     * treated as never reached
+     */
+    private void checkFinishTurn(int row, long steps){
+        if(steps > Integer.MAX_VALUE - turn){
+            throw new IllegalStateException(competitors.get(row) + " can not finish within " + Integer.MAX_VALUE + " turns");
+        }
+    }
+
+    /**
+     * play a single row turn by turn until it reaches the finish line, giving up once the turn count would overflow
+     * @return the number of turns played
+     */
+    private long stepRow(int row, FrictionProfile profile, double length){
+        long steps = 0;
+        while(store.getX(row) < length){
+            double friction = profile.frictionAt(store.getX(row));
+            store.move(row, friction);
+            steps++;
+            checkFinishTurn(row, steps);
+            if(store.getSpeed(row) <= 0 && store.getAcceleration(row) * (1 - friction) <= 0){
+                throw new IllegalStateException(competitors.get(row) + " can never finish the race");
+            }
+        }
+        return steps;
+    }
+
+    /**
+     * queue a check of the row one turn before it is predicted to cross the finish line,
+     * or on the next turn if the prediction is not exact
+     */
+    private void scheduleFinish(int row){
+        double[] motion = {store.getX(row), store.getSpeed(row)};
+        long steps = Kinematics.stepsToReach(motion, store.getAcceleration(row), store.getMaxSpeed(row),
+                arena.getFrictionProfile(), arena.getLength());
+        if(steps == Kinematics.NEVER){
+            return;
+        }
+        long delay = steps == Kinematics.UNRESOLVED ? 1 : Math.max(1, steps - 1);
+        finishQueue.add(FinishQueue.event(Math.min(Integer.MAX_VALUE, turn + delay), row));
+    }
+
+    /**
+     * called by a competitor whose position or acceleration was changed other than by playing a turn, so its
+     * predicted finish is no longer valid; the finish is predicted again before the next turn is played.
+     * safe to call from any thread
+     * @param competitor the competitor that changed
+     */
+    public void motionChanged(Competitor competitor) {
+        Integer row = rows.get(competitor);
+        if (row == null) {
+            return;
+        }
+        synchronized (this) {
+            changedRows.set(row);
+            motionChanged = true;
+        }
+    }
+
+    /**
+     * queue a new finish check for every changed row still racing; checks queued before the change are
+     * harmless, they find the row not finished and queue another
+     */
+    private void rescheduleChanged(){
+        synchronized (this) {
+            for(int row = changedRows.nextSetBit(0); row >= 0; row = changedRows.nextSetBit(row + 1)){
+                if(activePositions[row] >= 0){
+                    scheduleFinish(row);
+                }
+            }
+            changedRows.clear();
+            motionChanged = false;
+        }
+    }
+
+    //region Active set, owned by the thread playing turns
+    private void activate(int row){
+        activePositions[row] = activeRowCount;
+        activeRows[activeRowCount++] = row;
+    }
+
+    /**
+     * remove a row from the active set, swapping the last active row into its place
+     */
+    private void deactivate(int row){
+        int position = activePositions[row];
+        int last = activeRows[--activeRowCount];
+        activeRows[position] = last;
+        activePositions[last] = position;
+        activePositions[row] = -1;
+    }
+    //endregion
+
+    /**
+     * give the competitor of a row the next place in the results; safe to call from any number of threads at once.
+     * a row is only ever given one place, later calls for the same row are ignored.
+     */
+    private void recordFinish(int row){
+        if(!finished.compareAndSet(row, 0, PLACE_PENDING)){
+            return;
+        }
+        int place = finishedCount.getAndIncrement();
+        finished.set(row, place + 1);
+        finishedCompetitors.set(place, competitors.get(row));
+        activeCount.decrementAndGet();
+        METRICS.recordFinish();
+        if(eventBus.hasSubscribers(Finished.class)){
+            eventBus.publish(new Finished(competitors.get(row), turn, place + 1));
+        }
+    }
+
+    //region Snapshots
+    /**
+     * start publishing snapshots of the race, if not already started, and get a snapshot to read them into.
+     * snapshots are published by {@link #playTurn()}, {@link #fastForward()} and {@link #addCompetitor(Competitor)};
+     * when competitors run on their own threads there are no turns, and whoever paces the readers publishes them
+     * with {@link #publishSnapshot()}.
+     * publishing copies every competitor on every turn, on the thread playing it; it goes on until every snapshot
+     * asked for was given back with {@link #releaseSnapshot(RaceSnapshot)}.
+     * @return an empty snapshot owned by the caller, sized for the competitors added so far and grown as needed
+     */
+    public RaceSnapshot newSnapshot() {
+        synchronized (this) {
+            if (snapshots == null) {
+                SnapshotBuffer buffer = new SnapshotBuffer(competitors.size());
+                buffer.publish(store, finished, turn);
+                snapshots = buffer;
+            }
+            snapshotReaders++;
+        }
+        return new RaceSnapshot(competitors.size());
+    }
+
+    /**
+     * give back a snapshot from {@link #newSnapshot()} that will not be read into again;
+     * once every snapshot was given back, snapshots are no longer published
+     */
+    public synchronized void releaseSnapshot(RaceSnapshot snapshot) {
+        ValidationUtils.assertNotNull(snapshot);
+        if (snapshotReaders == 0) {
+            throw new IllegalStateException("no snapshot to release");
+        }
+        if (--snapshotReaders == 0) {
+            snapshots = null;
+        }
+    }
+
+    /**
+     * copy the last published snapshot into the given one; never blocks, and never blocks the race
+     * @param target a snapshot from {@link #newSnapshot()}
+     */
+    public void readSnapshot(RaceSnapshot target) {
+        ValidationUtils.assertNotNull(target);
+        SnapshotBuffer buffer = snapshots;
+        if (buffer == null) {
+            throw new IllegalStateException("no snapshot was asked for, call newSnapshot() first");
+        }
+        buffer.read(target);
+    }
+
+    /**
+     * copy the current state of the race straight into a snapshot, without publishing it to readers.
+     * only the thread playing turns may call it, between turns; readers on other threads use
+     * {@link #readSnapshot(RaceSnapshot)}
+     * @param target any snapshot, grown to the number of competitors if needed
+     */
+    public void copySnapshot(RaceSnapshot target) {
+        ValidationUtils.assertNotNull(target);
+        target.copyFrom(store, finished, turn);
+    }
+
+    /**
+     * publish the current state of the race to snapshot readers, if there are any
+     */
+    public void publishSnapshot() {
+        SnapshotBuffer buffer = snapshots;
+        if (buffer != null) {
+            buffer.publish(store, finished, turn);
+        }
+    }
+    //endregion
+
+    /**
+     * @return the number of turns played by {@link #playTurn()} so far
+     */
+    public int getTurn() {
+        return turn;
     }
     
 	public void startCompetition() throws InterruptedException {
-		ExecutorService e = Executors.newFixedThreadPool(activeCompetitors.size());
-		for (Competitor c : activeCompetitors) {
-			e.execute(c);
+		startCompetition(ExecutionMode.PLATFORM_THREADS);
+	}
+
+	/**
+	 * run every active competitor on its own thread and return without waiting for the race to end.
+	 * events are queued on {@link #getEventBus()} and delivered whenever its owner calls {@link EventBus#flush()}.
+	 * platform threads are one per competitor, so large fields should run on virtual threads or with {@link #playTurn()}.
+	 * @param mode the kind of threads the competitors run on
+	 * @see #awaitCompetition(long, TimeUnit)
+	 */
+	public void startCompetition(ExecutionMode mode) throws InterruptedException {
+		ValidationUtils.assertNotNull(mode);
+		if (mode == ExecutionMode.VIRTUAL_THREADS) {
+			executor = Executors.newVirtualThreadPerTaskExecutor();
+		} else {
+			executor = Executors.newFixedThreadPool(Math.max(1, activeCount.get()));
 		}
-		e.shutdown();
-		//e.awaitTermination(10, TimeUnit.MINUTES);
+		for (Competitor c : getActiveCompetitors()) {
+			executor.execute(c);
+		}
+		executor.shutdown();
 	}
 
-	@Override
-	public synchronized void update(Observable o, Object arg) {
-		finishedCompetitors.add((Competitor) o);
-		activeCompetitors.remove((Competitor) o);
+	/**
+	 * block until every competitor started by {@link #startCompetition(ExecutionMode)} has finished
+	 * @param timeout the maximum time to wait
+	 * @param unit the unit of the timeout argument
+	 * @return true if the race ended, false if the timeout elapsed first or the race was never started
+	 */
+	public boolean awaitCompetition(long timeout, TimeUnit unit) throws InterruptedException {
+		return executor != null && executor.awaitTermination(timeout, unit);
+	}
+
+	/**
+	 * called by a competitor thread when it crosses the finish line; lock free, so competitors finishing together
+	 * never wait for each other
+	 * @param competitor the competitor that finished
+	 */
+	public void competitorFinished(Competitor competitor) {
+		Integer row = rows.get(competitor);
+		if (row != null) {
+			recordFinish(row);
+		}
 	}
 
 	
     public boolean hasActiveCompetitors(){
-        return activeCompetitors.size() > 0;
+        return activeCount.get() > 0;
     }
 
+    /**
+     * safe to call from any thread while the race runs
+     * @return the competitors that finished so far, in finishing order
+     */
     public ArrayList<Competitor> getFinishedCompetitors() {
-        return new ArrayList<>(finishedCompetitors);
+        int count = finishedCount.get();
+        ArrayList<Competitor> results = new ArrayList<>(count);
+        for(int place = 0; place < count; place++){
+            Competitor competitor = finishedCompetitors.get(place);
+            if(competitor == null){
+                break; // place taken but not written yet, it will show on the next read
+            }
+            results.add(competitor);
+        }
+        return results;
     }
     
+    /**
+     * safe to call from any thread while the race runs
+     * @return the competitors still racing, in the order they were added
+     */
     public ArrayList<Competitor> getActiveCompetitors() {
-        return new ArrayList<>(activeCompetitors);
+        ArrayList<Competitor> active = new ArrayList<>(activeCount.get());
+        for(int row = 0; row < competitors.size(); row++){
+            if(finished.get(row) == 0){
+                active.add(competitors.get(row));
+            }
+        }
+        return active;
+    }
+
+    /**
+     * @return every competitor added to this competition, in the order of their rows in the store
+     */
+    public ArrayList<Competitor> getCompetitors() {
+        return new ArrayList<>(competitors);
+    }
+
+    /**
+     * @return the number of competitors added, which is also the number of rows in the store
+     */
+    public int getCompetitorCount() {
+        return competitors.size();
+    }
+
+    /**
+     * @param row the competitor's row in the store
+     * @return the competitor on that row
+     */
+    public Competitor getCompetitor(int row) {
+        return competitors.get(row);
+    }
+
+    /**
+     * safe to call from any thread while the race runs
+     * @param row the competitor's row in the store
+     * @return whether the competitor on that row has crossed the finish line
+     */
+    public boolean hasFinished(int row) {
+        return finished.get(row) != 0;
+    }
+
+    /**
+     * safe to call from any thread while the race runs
+     * @param row the competitor's row in the store
+     * @return the place of the competitor on that row counting from 1, 0 if it is still racing, or
+     * {@link #PLACE_PENDING} for the moment between crossing the finish line and being given its place
+     */
+    public int getPlace(int row) {
+        return finished.get(row);
+    }
+
+    /**
+     * @return the bus on which this competition publishes {@link PositionChanged} and {@link Finished} events,
+     * and its competitors their state changes
+     */
+    public EventBus getEventBus() {
+        return eventBus;
+    }
+
+    public IArena getArena() {
+        return arena;
+    }
+
+    public int getMaxCompetitors() {
+        return maxCompetitors;
+    }
+
+    /**
+     * @return the movement state of every competitor added to this competition
+     */
+    public CompetitorStore getStore() {
+        return store;
     }
     
 
@@ -1,7 +1,5 @@
 package game.competition;
 
-import java.util.Observer;
-
 import game.arena.IArena;
 import game.entities.IMobileEntity;
 import utilities.Point;
@@ -10,5 +8,17 @@ import utilities.Point;
 public interface Competitor extends IMobileEntity, Runnable {
     void initRace();
     void initRace(Point p, Point f, IArena arena); 
-    void addObserver(Observer o);
+
+    /**
+     * report finishing and other race events to the given competition from now on
+     * @param competition the competition the competitor takes part in
+     */
+    void setCompetition(Competition competition);
+
+    /**
+     * keep the movement state of this competitor in a row of a competition store from now on
+     * @param store the store owning the row
+     * @param row the row of this competitor
+     */
+    void attach(CompetitorStore store, int row);
 }
@@ -0,0 +1,160 @@
+package game.competition;
+
+import game.arena.FrictionProfile;
+import game.enums.CompetitorState;
+import utilities.ValidationUtils;
+
+import java.util.Arrays;
+
+/**
+ * Movement state of every competitor in a competition, kept in primitive columns (one row per competitor)
+ * so a whole turn can be played in a single pass over contiguous arrays.
+ * the {@link CompetitorState} of each row is kept alongside, as its ordinal.
+ */
+public class CompetitorStore {
+    private static final CompetitorState[] STATES = CompetitorState.values();
+    private double[] x;
+    private double[] y;
+    private double[] speed;
+    private double[] acceleration;
+    private double[] maxSpeed;
+    private byte[] state;
+    private int size;
+
+    /**
+     * @param capacity the number of rows to allocate up front
+     */
+    public CompetitorStore(int capacity) {
+        ValidationUtils.assertNotNegative(capacity);
+        x = new double[capacity];
+        y = new double[capacity];
+        speed = new double[capacity];
+        acceleration = new double[capacity];
+        maxSpeed = new double[capacity];
+        state = new byte[capacity];
+    }
+
+    /**
+     * append a row for a new competitor
+     * @return the index of the new row
+     */
+    public int add(double x, double y, double speed, double acceleration, double maxSpeed) {
+        if (size == this.x.length) {
+            grow();
+        }
+        this.x[size] = x;
+        this.y[size] = y;
+        this.speed[size] = speed;
+        this.acceleration[size] = acceleration;
+        this.maxSpeed[size] = maxSpeed;
+        this.state[size] = (byte) CompetitorState.ACTIVE.ordinal();
+        return size++;
+    }
+
+    /**
+     * move the rows listed in {@code rows[from, to)} by one step, same formula as {@link #move(int, double)} and
+     * {@link game.entities.MobileEntity#move(double)}
+     * @param friction reduce acceleration by a factor of (1-friction)
+     */
+    public void move(double friction, int[] rows, int from, int to) {
+        double factor = 1 - friction;
+        for (int i = from; i < to; i++) {
+            int row = rows[i];
+            speed[row] = Math.min(maxSpeed[row], speed[row] + acceleration[row] * factor);
+            x[row] += speed[row];
+        }
+    }
+
+    /**
+     * move the rows listed in {@code rows[from, to)} by one step, each with the friction of the arena segment it
+     * starts the step in
+     */
+    public void move(FrictionProfile profile, int[] rows, int from, int to) {
+        if (profile.isUniform()) {
+            move(profile.getFriction(0), rows, from, to);
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            int row = rows[i];
+            speed[row] = Math.min(maxSpeed[row], speed[row] + acceleration[row] * (1 - profile.frictionAt(x[row])));
+            x[row] += speed[row];
+        }
+    }
+
+    /**
+     * move a single row by one step
+     * @param row the row to move
+     * @param friction reduce acceleration by a factor of (1-friction)
+     */
+    public void move(int row, double friction) {
+        speed[row] = Math.min(maxSpeed[row], speed[row] + acceleration[row] * (1 - friction));
+        x[row] += speed[row];
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, x.length * 2);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        acceleration = Arrays.copyOf(acceleration, capacity);
+        maxSpeed = Arrays.copyOf(maxSpeed, capacity);
+        state = Arrays.copyOf(state, capacity);
+    }
+
+    /**
+     * copy the first {@code count} rows of the location, speed and state columns
+     */
+    void copyTo(double[] x, double[] y, double[] speed, byte[] state, int count) {
+        System.arraycopy(this.x, 0, x, 0, count);
+        System.arraycopy(this.y, 0, y, 0, count);
+        System.arraycopy(this.speed, 0, speed, 0, count);
+        System.arraycopy(this.state, 0, state, 0, count);
+    }
+
+    //region Getters & setters
+    public int size() {
+        return size;
+    }
+
+    public double getX(int row) {
+        return x[row];
+    }
+
+    public double getY(int row) {
+        return y[row];
+    }
+
+    public void setLocation(int row, double x, double y) {
+        this.x[row] = x;
+        this.y[row] = y;
+    }
+
+    public double getSpeed(int row) {
+        return speed[row];
+    }
+
+    public void setSpeed(int row, double speed) {
+        this.speed[row] = speed;
+    }
+
+    public double getAcceleration(int row) {
+        return acceleration[row];
+    }
+
+    public void setAcceleration(int row, double acceleration) {
+        this.acceleration[row] = acceleration;
+    }
+
+    public double getMaxSpeed(int row) {
+        return maxSpeed[row];
+    }
+
+    public CompetitorState getState(int row) {
+        return STATES[state[row]];
+    }
+
+    public void setState(int row, CompetitorState state) {
+        this.state[row] = (byte) state.ordinal();
+    }
+    //endregion
+}
@@ -0,0 +1,48 @@
+package game.competition;
+
+import utilities.ValidationUtils;
+
+/**
+ * Slipstream rule of a turn based race: a competitor less than {@link #getDistance()} behind the nearest competitor
+ * ahead of it moves with the arena friction reduced by {@link #getFrictionFactor()}.
+ * competitors level with each other are side by side, not one behind the other, and do not draft.
+ * @see Competition#setDrafting(Drafting)
+ */
+public final class Drafting {
+    public static final double DEFAULT_DISTANCE = 10;
+    public static final double DEFAULT_FRICTION_FACTOR = 0.5;
+
+    private final double distance;
+    private final double frictionFactor;
+
+    public Drafting() {
+        this(DEFAULT_DISTANCE, DEFAULT_FRICTION_FACTOR);
+    }
+
+    /**
+     * @param distance the largest gap to the competitor ahead that still gives a draft
+     * @param frictionFactor the share of the arena friction left to a drafting competitor, in [0,1]
+     */
+    public Drafting(double distance, double frictionFactor) {
+        ValidationUtils.assertPositive(distance);
+        ValidationUtils.assertInRange(frictionFactor, 0, 1);
+        this.distance = distance;
+        this.frictionFactor = frictionFactor;
+    }
+
+    public double getDistance() {
+        return distance;
+    }
+
+    public double getFrictionFactor() {
+        return frictionFactor;
+    }
+
+    /**
+     * @param gap how far the competitor ahead is
+     * @return whether a competitor that far behind drafts
+     */
+    boolean drafts(double gap) {
+        return gap > 0 && gap <= distance;
+    }
+}
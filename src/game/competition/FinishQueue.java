@@ -0,0 +1,82 @@
+package game.competition;
+
+import java.util.Arrays;
+
+/**
+ * Min-heap of predicted finish events, each packed in a primitive long as (turn, row) so the queue never boxes.
+ * Events of the same turn come out in row order.
+ */
+class FinishQueue {
+    private long[] heap;
+    private int size;
+
+    FinishQueue(int capacity) {
+        heap = new long[Math.max(1, capacity)];
+    }
+
+    static long event(long turn, int row) {
+        return turn << 32 | row;
+    }
+
+    static long turnOf(long event) {
+        return event >>> 32;
+    }
+
+    static int rowOf(long event) {
+        return (int) event;
+    }
+
+    void add(long event) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= event) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = event;
+    }
+
+    /**
+     * @return the earliest event, the queue must not be empty
+     */
+    long peek() {
+        return heap[0];
+    }
+
+    /**
+     * remove and return the earliest event, the queue must not be empty
+     */
+    long poll() {
+        long first = heap[0];
+        long last = heap[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (last <= heap[child]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return first;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+}
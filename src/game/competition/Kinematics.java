@@ -0,0 +1,164 @@
+package game.competition;
+
+import game.arena.FrictionProfile;
+
+/**
+ * Closed-form solution of the motion model used by {@link CompetitorStore#move(int, double)}:
+ * every step the speed grows by a fixed amount {@code a} (acceleration times (1-friction)) up to {@code vMax},
+ * then the position grows by the new speed.
+ * Results agree with stepping up to floating point rounding; {@link #stepsToReach} reports the cases where
+ * that rounding could change the answer.
+ */
+public final class Kinematics {
+    /** returned by {@link #stepsToReach} when the target is never reached */
+    public static final long NEVER = Long.MAX_VALUE;
+    /** returned by {@link #stepsToReach} when only stepping can tell the answer */
+    public static final long UNRESOLVED = -1;
+
+    private static final double TOLERANCE = 1e-9;
+    /** step counts from here on are no longer exact as doubles, targets further away are treated as never reached */
+    private static final long MAX_STEPS = 1L << 53;
+
+    private Kinematics() {} // Can not create an instance of a util class
+
+    /**
+     * @return the speed after {@code steps} steps
+     */
+    public static double speedAfter(double v0, double a, double vMax, long steps) {
+        if (steps == 0) {
+            return v0;
+        }
+        return Math.min(vMax, v0 + steps * a);
+    }
+
+    /**
+     * @return the position after {@code steps} steps, for a non negative {@code a}
+     */
+    public static double positionAfter(double x0, double v0, double a, double vMax, long steps) {
+        if (steps == 0) {
+            return x0;
+        }
+        if (a == 0) {
+            return x0 + steps * Math.min(vMax, v0);
+        }
+        long cap = capStep(v0, a, vMax);
+        if (steps < cap) {
+            return x0 + steps * v0 + a * steps * (steps + 1) / 2;
+        }
+        return x0 + (cap - 1) * v0 + a * (cap - 1) * cap / 2 + (steps - cap + 1) * vMax;
+    }
+
+    /**
+     * @return the first step at which the position is at or past {@code target}, {@link #NEVER} if it never gets
+     * there or only after more than 2<sup>53</sup> steps, or {@link #UNRESOLVED} if {@code a} is negative or the position lands within rounding of the target
+     */
+    public static long stepsToReach(double x0, double v0, double a, double vMax, double target) {
+        if (x0 >= target) {
+            return 0;
+        }
+        if (!(a >= 0)) {
+            return UNRESOLVED;
+        }
+        long steps;
+        if (a == 0) {
+            double speed = Math.min(vMax, v0);
+            if (speed <= 0) {
+                return NEVER;
+            }
+            steps = (long) Math.ceil((target - x0) / speed);
+        } else {
+            if (vMax <= 0) {
+                return NEVER;
+            }
+            long cap = capStep(v0, a, vMax);
+            double beforeCap = positionAfter(x0, v0, a, vMax, cap - 1);
+            if (beforeCap >= target) {
+                double b = v0 + a / 2;
+                steps = (long) Math.ceil((-b + Math.sqrt(b * b + 2 * a * (target - x0))) / a);
+            } else {
+                steps = cap - 1 + (long) Math.ceil((target - beforeCap) / vMax);
+            }
+        }
+        if (steps < 0 || steps >= MAX_STEPS) { // an estimate past Long.MAX_VALUE wraps around
+            return NEVER;
+        }
+        steps = Math.max(1, steps);
+        while (positionAfter(x0, v0, a, vMax, steps) < target) {
+            steps++;
+        }
+        while (steps > 1 && positionAfter(x0, v0, a, vMax, steps - 1) >= target) {
+            steps--;
+        }
+        double tolerance = TOLERANCE * Math.max(1, Math.abs(target));
+        if (positionAfter(x0, v0, a, vMax, steps) - target < tolerance
+                || target - positionAfter(x0, v0, a, vMax, steps - 1) < tolerance) {
+            return UNRESOLVED;
+        }
+        return steps;
+    }
+
+    /**
+     * solve {@link #stepsToReach(double, double, double, double, double)} on an arena whose friction changes along
+     * the way: every step accelerates by {@code acceleration} times (1-friction) of the segment the step starts in.
+     * the motion is solved in closed form one segment at a time, so the cost grows with the number of segments
+     * crossed, not with the number of steps.
+     * @param motion the position and speed to start from; when the answer is a number of steps they are replaced by
+     * the position and speed at that step
+     * @param acceleration the acceleration before friction
+     * @return the first step at which the position is at or past {@code target}, {@link #NEVER} or {@link #UNRESOLVED}
+     * as for a single segment, the latter also when the position lands within rounding of a segment end
+     */
+    public static long stepsToReach(double[] motion, double acceleration, double vMax, FrictionProfile profile, double target) {
+        return stepsToReach(motion, acceleration, vMax, profile, 1, target);
+    }
+
+    /**
+     * as {@link #stepsToReach(double[], double, double, FrictionProfile, double)}, with the friction of every segment
+     * scaled by {@code frictionFactor}
+     */
+    public static long stepsToReach(double[] motion, double acceleration, double vMax, FrictionProfile profile,
+                                    double frictionFactor, double target) {
+        double x = motion[0];
+        double v = motion[1];
+        long total = 0;
+        while (x < target) {
+            int segment = profile.segmentAt(x);
+            double a = acceleration * (1 - profile.getFriction(segment) * frictionFactor);
+            double end = Math.min(target, profile.getEnd(segment));
+            long steps = stepsToReach(x, v, a, vMax, end);
+            if (steps == NEVER || steps == UNRESOLVED) {
+                return steps;
+            }
+            x = positionAfter(x, v, a, vMax, steps);
+            v = speedAfter(v, a, vMax, steps);
+            // the next segment is picked from x, so a hand-off within rounding of the end could go either way
+            if (end < target && Math.abs(x - end) < TOLERANCE * Math.max(1, Math.abs(end))) {
+                return UNRESOLVED;
+            }
+            total += steps;
+            if (total >= MAX_STEPS) {
+                return NEVER;
+            }
+        }
+        motion[0] = x;
+        motion[1] = v;
+        return total;
+    }
+
+    /**
+     * @return the first step at which the speed is capped at {@code vMax}, for a positive {@code a}
+     */
+    private static long capStep(double v0, double a, double vMax) {
+        if (v0 + a >= vMax) {
+            return 1;
+        }
+        long cap = (long) Math.ceil((vMax - v0) / a);
+        while (v0 + cap * a < vMax) {
+            cap++;
+        }
+        while (cap > 1 && v0 + (cap - 1) * a >= vMax) {
+            cap--;
+        }
+        return cap;
+    }
+}
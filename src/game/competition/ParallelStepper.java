@@ -0,0 +1,120 @@
+package game.competition;
+
+import utilities.ValidationUtils;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Phaser;
+
+/**
+ * Plays the turns of a competition with the moves of every turn split between the workers of a fork-join pool.
+ * the competitors to move are cut into fixed chunks of {@code chunkSize}; the calling thread moves the first chunk
+ * and the pool the others, and a phaser holds the turn until every chunk has arrived. finishes, overtakes, events
+ * and snapshots are then handled on the calling thread exactly as by {@link Competition#playTurn()}.
+ * a competitor's move only reads its own row and the positions of the previous turn, and is computed with the same
+ * arithmetic whichever thread runs it, so races are bit-identical to ones played with {@link Competition#playTurn()}.
+ */
+public class ParallelStepper {
+    public static final int DEFAULT_CHUNK_SIZE = 8192;
+    /** a phaser takes at most 65535 parties, the calling thread being one of them */
+    private static final int MAX_CHUNKS = 65535;
+
+    private final Competition competition;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final Phaser turnEnd = new Phaser(1);
+    private volatile Throwable failure;
+
+    /**
+     * stepper on the common fork-join pool with the default chunk size
+     */
+    public ParallelStepper(Competition competition) {
+        this(competition, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param competition the competition to play, which must not be played in any other way at the same time
+     * @param pool the pool the chunks are moved on
+     * @param chunkSize the number of competitors moved by a single task
+     */
+    public ParallelStepper(Competition competition, ForkJoinPool pool, int chunkSize) {
+        ValidationUtils.assertNotNull(competition);
+        ValidationUtils.assertNotNull(pool);
+        ValidationUtils.assertPositive(chunkSize);
+        this.competition = competition;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * play a single turn, as by {@link Competition#playTurn()}
+     */
+    public void playTurn() {
+        competition.playTurn(this);
+    }
+
+    /**
+     * play turns until every competitor has finished
+     */
+    public void playRace() {
+        while (competition.hasActiveCompetitors()) {
+            playTurn();
+        }
+    }
+
+    /**
+     * move {@code count} competitors of the current turn, returning once all of them moved.
+     * if the pool rejects a chunk, the chunks already handed to it are waited for and the rejection is thrown
+     */
+    void moveAll(int count) {
+        int size = Math.max(chunkSize, (count + MAX_CHUNKS - 1) / MAX_CHUNKS);
+        int chunks = (count + size - 1) / size;
+        if (chunks <= 1) {
+            competition.moveRange(0, count);
+            return;
+        }
+        RuntimeException rejected = null;
+        for (int chunk = 1; chunk < chunks; chunk++) {
+            int from = chunk * size;
+            int to = Math.min(count, from + size);
+            // a party per chunk actually handed to the pool, so a rejected one is never waited for
+            turnEnd.register();
+            try {
+                pool.execute(() -> {
+                    try {
+                        competition.moveRange(from, to);
+                    } catch (Throwable e) {
+                        failure = e;
+                    } finally {
+                        turnEnd.arriveAndDeregister();
+                    }
+                });
+            } catch (RuntimeException e) {
+                turnEnd.arriveAndDeregister();
+                rejected = e;
+                break;
+            }
+        }
+        try {
+            if (rejected == null) {
+                competition.moveRange(0, size);
+            }
+        } finally {
+            turnEnd.arriveAndAwaitAdvance();
+        }
+        if (rejected != null) {
+            failure = null;
+            throw rejected;
+        }
+        Throwable e = failure;
+        if (e != null) {
+            failure = null;
+            if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            }
+            if (e instanceof Error) {
+                throw (Error) e;
+            }
+            throw new IllegalStateException(e);
+        }
+    }
+}
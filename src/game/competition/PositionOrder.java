@@ -0,0 +1,218 @@
+package game.competition;
+
+import game.arena.FrictionProfile;
+
+/**
+ * The active rows of a turn based race, furthest first, kept sorted from turn to turn.
+ * rows level with each other are in row order. the order remembers the position every row had when it was last
+ * sorted, which is what drafting and overtakes are measured against.
+ * re-sorting after a turn first sorts the rows that were level among themselves, then insertion sorts the whole
+ * order: every row an insertion moves a row past was strictly ahead of it before, so the insertion sort costs
+ * one pass plus one step per overtake. when nobody listens for overtakes and too many rows changed places,
+ * it gives up and merge sorts instead.
+ */
+final class PositionOrder {
+    /** insertion sorting stops and a full sort takes over once rows moved this many places on average */
+    private static final int MOVES_PER_ROW = 8;
+
+    /**
+     * Told about every overtake found by {@link #resort(CompetitorStore, OvertakeListener)}
+     */
+    interface OvertakeListener {
+        void overtook(int row, int overtakenRow);
+    }
+
+    private int[] rows;
+    private double[] xs;
+    private double[] next;
+    private int[] rowBuffer;
+    private double[] xBuffer;
+    private int first;
+    private int size;
+
+    PositionOrder(int capacity) {
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        rows = new int[capacity];
+        xs = new double[capacity];
+        next = new double[capacity];
+        rowBuffer = new int[capacity];
+        xBuffer = new double[capacity];
+    }
+
+    /**
+     * order the given rows from scratch by their current positions
+     */
+    void rebuild(CompetitorStore store, int[] activeRows, int count) {
+        if (count > rows.length) {
+            allocate(count);
+        }
+        first = 0;
+        size = count;
+        for (int i = 0; i < count; i++) {
+            rows[i] = activeRows[i];
+            xs[i] = store.getX(activeRows[i]);
+        }
+        mergeSort(xs, 0, size);
+    }
+
+    /**
+     * move the rows at {@code [from, to)} of the order, counted from the leader, by one step, with the friction of
+     * the ones drafting reduced.
+     * friction is that of the arena segment each row starts the step in, and gaps are measured between the positions of the last sort, so the order rows are moved in does not matter
+     * and disjoint ranges can be moved at the same time
+     */
+    void move(CompetitorStore store, FrictionProfile profile, Drafting drafting, int from, int to) {
+        int start = first + from;
+        int ahead = start - 1;
+        while (ahead >= first && xs[ahead] == xs[start]) {
+            ahead--;
+        }
+        double aheadX = ahead >= first ? xs[ahead] : Double.NaN;
+        for (int i = start; i < first + to; i++) {
+            double x = xs[i];
+            if (i > start && xs[i - 1] != x) {
+                aheadX = xs[i - 1];
+            }
+            double friction = profile.frictionAt(x);
+            store.move(rows[i], drafting.drafts(aheadX - x) ? friction * drafting.getFrictionFactor() : friction);
+        }
+    }
+
+    /**
+     * @return the number of rows in the order
+     */
+    int size() {
+        return size - first;
+    }
+
+    /**
+     * sort the rows again by their current positions
+     * @param listener told about every row that passed another one since the last sort, or null to skip looking
+     */
+    void resort(CompetitorStore store, OvertakeListener listener) {
+        for (int i = first; i < size; i++) {
+            next[i] = store.getX(rows[i]);
+        }
+        int level = first;
+        for (int i = first + 1; i <= size; i++) {
+            if (i == size || xs[i] != xs[level]) {
+                if (i - level > 1) {
+                    mergeSort(next, level, i);
+                }
+                level = i;
+            }
+        }
+        if (!insertionSort(listener)) {
+            mergeSort(next, first, size);
+        }
+        double[] swap = xs;
+        xs = next;
+        next = swap;
+    }
+
+    /**
+     * @return false if the order was given up on for having moved too far from sorted, which only happens
+     * without a listener
+     */
+    private boolean insertionSort(OvertakeListener listener) {
+        long budget = (long) MOVES_PER_ROW * (size - first);
+        long moves = 0;
+        for (int i = first + 1; i < size; i++) {
+            int row = rows[i];
+            double x = next[i];
+            int j = i;
+            while (j > first && ahead(x, row, next[j - 1], rows[j - 1])) {
+                if (listener != null && x > next[j - 1]) {
+                    listener.overtook(row, rows[j - 1]);
+                }
+                rows[j] = rows[j - 1];
+                next[j] = next[j - 1];
+                j--;
+            }
+            rows[j] = row;
+            next[j] = x;
+            moves += i - j;
+            if (listener == null && moves > budget) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * bottom up merge sort of the rows in [from, to) by the given positions, moved along with them
+     */
+    private void mergeSort(double[] positions, int from, int to) {
+        int[] fromRows = rows, toRows = rowBuffer;
+        double[] fromXs = positions, toXs = xBuffer;
+        for (int width = 1; width < to - from; width *= 2) {
+            for (int low = from; low < to; low += 2 * width) {
+                int middle = Math.min(low + width, to);
+                int high = Math.min(low + 2 * width, to);
+                int left = low, right = middle, out = low;
+                while (left < middle && right < high) {
+                    int taken = ahead(fromXs[right], fromRows[right], fromXs[left], fromRows[left]) ? right++ : left++;
+                    toRows[out] = fromRows[taken];
+                    toXs[out++] = fromXs[taken];
+                }
+                int rest = left < middle ? left : right;
+                int restEnd = left < middle ? middle : high;
+                System.arraycopy(fromRows, rest, toRows, out, restEnd - rest);
+                System.arraycopy(fromXs, rest, toXs, out, restEnd - rest);
+            }
+            int[] rowSwap = fromRows; fromRows = toRows; toRows = rowSwap;
+            double[] xSwap = fromXs; fromXs = toXs; toXs = xSwap;
+        }
+        if (fromRows != rows) {
+            System.arraycopy(fromRows, from, rows, from, to - from);
+            System.arraycopy(fromXs, from, positions, from, to - from);
+        }
+    }
+
+    /**
+     * @return whether a row at xA is ordered before a row at xB
+     */
+    private static boolean ahead(double xA, int a, double xB, int b) {
+        if (xA != xB) {
+            return xA > xB;
+        }
+        return a < b;
+    }
+
+    /**
+     * drop rows that are no longer active from the front of the order, where finished rows are
+     */
+    void dropInactive(int[] activePositions) {
+        while (first < size && activePositions[rows[first]] < 0) {
+            first++;
+        }
+    }
+
+    /**
+     * drop the rows before the given index, as by {@link #dropInactive(int[])}
+     */
+    void dropBefore(int index) {
+        first = index;
+    }
+
+    /**
+     * @return the index of the leading row
+     */
+    int first() {
+        return first;
+    }
+
+    /**
+     * @return the index past the last row
+     */
+    int end() {
+        return size;
+    }
+
+    int rowAt(int index) {
+        return rows[index];
+    }
+}
@@ -0,0 +1,146 @@
+package game.competition;
+
+import game.enums.CompetitorState;
+
+import utilities.ValidationUtils;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * The location, speed, state and place of every competitor of a competition as they were at the end of one turn,
+ * indexed by the competitors' rows in the {@link CompetitorStore}.
+ * a snapshot belongs to the reader that asked for it from {@link Competition#newSnapshot()}: the competition only
+ * writes to it from {@link Competition#readSnapshot(RaceSnapshot)}, so it can be read freely while the race runs.
+ * snapshots of races that are not running, such as recorded ones, are built row by row with {@link #reset(int, int)}
+ * and {@link #setRow(int, double, double, double, CompetitorState, boolean)}.
+ */
+public final class RaceSnapshot {
+    private static final CompetitorState[] STATES = CompetitorState.values();
+
+    private int turn;
+    private int size;
+    private double[] x;
+    private double[] y;
+    private double[] speed;
+    private byte[] state;
+    private int[] place;
+
+    /**
+     * @param capacity the number of rows to allocate up front
+     */
+    public RaceSnapshot(int capacity) {
+        ValidationUtils.assertNotNegative(capacity);
+        x = new double[capacity];
+        y = new double[capacity];
+        speed = new double[capacity];
+        state = new byte[capacity];
+        place = new int[capacity];
+    }
+
+    void copyFrom(CompetitorStore store, AtomicIntegerArray finished, int turn) {
+        int count = store.size();
+        ensureCapacity(count);
+        store.copyTo(x, y, speed, state, count);
+        for (int row = 0; row < count; row++) {
+            this.place[row] = finished.get(row);
+        }
+        this.size = count;
+        this.turn = turn;
+    }
+
+    void copyFrom(RaceSnapshot other) {
+        int count = other.size;
+        ensureCapacity(count);
+        System.arraycopy(other.x, 0, x, 0, count);
+        System.arraycopy(other.y, 0, y, 0, count);
+        System.arraycopy(other.speed, 0, speed, 0, count);
+        System.arraycopy(other.state, 0, state, 0, count);
+        System.arraycopy(other.place, 0, place, 0, count);
+        this.size = count;
+        this.turn = other.turn;
+    }
+
+    /**
+     * empty this snapshot to be filled with {@code size} rows of the given turn
+     */
+    public void reset(int turn, int size) {
+        ValidationUtils.assertNotNegative(size);
+        ensureCapacity(size);
+        this.turn = turn;
+        this.size = size;
+    }
+
+    /**
+     * fill a row whose place is not known; a finished competitor is given {@link Competition#PLACE_PENDING}
+     */
+    public void setRow(int row, double x, double y, double speed, CompetitorState state, boolean finished) {
+        setRow(row, x, y, speed, state, finished ? Competition.PLACE_PENDING : 0);
+    }
+
+    /**
+     * @param place the place of the competitor counting from 1, 0 if it is still racing
+     */
+    public void setRow(int row, double x, double y, double speed, CompetitorState state, int place) {
+        this.x[row] = x;
+        this.y[row] = y;
+        this.speed[row] = speed;
+        this.state[row] = (byte) state.ordinal();
+        this.place[row] = place;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > x.length) {
+            capacity = Math.max(capacity, x.length * 2); // fields filled one competitor at a time grow in steps
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+            speed = Arrays.copyOf(speed, capacity);
+            state = Arrays.copyOf(state, capacity);
+            place = Arrays.copyOf(place, capacity);
+        }
+    }
+
+    //region Getters
+    /**
+     * @return the turn this snapshot was taken at
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * @return the number of competitors in this snapshot
+     */
+    public int size() {
+        return size;
+    }
+
+    public double getX(int row) {
+        return x[row];
+    }
+
+    public double getY(int row) {
+        return y[row];
+    }
+
+    public double getSpeed(int row) {
+        return speed[row];
+    }
+
+    public CompetitorState getState(int row) {
+        return STATES[state[row]];
+    }
+
+    public boolean hasFinished(int row) {
+        return place[row] != 0;
+    }
+
+    /**
+     * @return the place of the competitor counting from 1, 0 if it is still racing
+     * @see Competition#getPlace(int)
+     */
+    public int getPlace(int row) {
+        return place[row];
+    }
+    //endregion
+}
@@ -0,0 +1,208 @@
+package game.competition;
+
+import utilities.ValidationUtils;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The standings of a race as of a {@link RaceSnapshot}: competitors that finished come first in finishing order,
+ * then those still racing, furthest first; competitors level on both are ranked in the order they were added.
+ * ranks count from 1, like places.
+ * the standings are kept as an array of rows in rank order and its inverse, so every query is a lookup:
+ * the rank of a row, the row at a rank and the top N never sort anything.
+ * {@link #update(RaceSnapshot)} brings the standings to a newer snapshot by insertion sorting the previous order,
+ * which is close to one pass since competitors only change places with their neighbours from turn to turn;
+ * when too many places changed at once, such as on the first turn of a race, it sorts from scratch instead.
+ * an index belongs to one reader, like the snapshots it is updated from.
+ */
+public final class RankingIndex {
+    /** insertion sorting stops and a full sort takes over once rows moved this many places on average */
+    private static final int MOVES_PER_ROW = 8;
+    /** sort key of a competitor without a place, after every place including {@link Competition#PLACE_PENDING} */
+    private static final int RACING = -1;
+
+    private int[] order;
+    private int[] ranks;
+    // the sort keys of the rows in rank order, moved along with them so that sorting reads memory in sequence
+    private int[] places;
+    private double[] xs;
+    private int[] orderBuffer;
+    private int[] placeBuffer;
+    private double[] xBuffer;
+    private int size;
+    private int turn;
+
+    public RankingIndex() {
+        this(0);
+    }
+
+    /**
+     * @param capacity the number of rows to allocate up front
+     */
+    public RankingIndex(int capacity) {
+        ValidationUtils.assertNotNegative(capacity);
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        order = order == null ? new int[capacity] : Arrays.copyOf(order, capacity);
+        ranks = ranks == null ? new int[capacity] : Arrays.copyOf(ranks, capacity);
+        places = new int[capacity];
+        xs = new double[capacity];
+        orderBuffer = new int[capacity];
+        placeBuffer = new int[capacity];
+        xBuffer = new double[capacity];
+    }
+
+    /**
+     * re-rank the competitors to the positions and places of the given snapshot
+     * @param snapshot a snapshot of the same competition as the previous updates, with at least as many rows
+     */
+    public void update(RaceSnapshot snapshot) {
+        ValidationUtils.assertNotNull(snapshot);
+        int count = snapshot.size();
+        if (count < size) {
+            throw new IllegalArgumentException("snapshot has " + count + " rows, the standings already have " + size);
+        }
+        if (count > order.length) {
+            allocate(Math.max(count, order.length * 2));
+        }
+        for (int row = size; row < count; row++) {
+            order[row] = row;
+        }
+        size = count;
+        turn = snapshot.getTurn();
+        for (int i = 0; i < size; i++) {
+            int row = order[i];
+            int place = snapshot.getPlace(row);
+            places[i] = place == 0 ? RACING : place;
+            xs[i] = snapshot.getX(row);
+        }
+        if (!insertionSort()) {
+            mergeSort();
+        }
+        for (int rank = 0; rank < size; rank++) {
+            ranks[order[rank]] = rank;
+        }
+    }
+
+    /**
+     * @return false if the order was given up on for having moved too far from sorted
+     */
+    private boolean insertionSort() {
+        long budget = (long) MOVES_PER_ROW * size;
+        long moves = 0;
+        for (int i = 1; i < size; i++) {
+            int row = order[i];
+            int place = places[i];
+            double x = xs[i];
+            int j = i;
+            while (j > 0 && ahead(place, x, row, places[j - 1], xs[j - 1], order[j - 1])) {
+                order[j] = order[j - 1];
+                places[j] = places[j - 1];
+                xs[j] = xs[j - 1];
+                j--;
+            }
+            order[j] = row;
+            places[j] = place;
+            xs[j] = x;
+            moves += i - j;
+            if (moves > budget) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * bottom up merge sort of the whole order, stable and without allocating
+     */
+    private void mergeSort() {
+        int[] fromRows = order, toRows = orderBuffer;
+        int[] fromPlaces = places, toPlaces = placeBuffer;
+        double[] fromXs = xs, toXs = xBuffer;
+        for (int width = 1; width < size; width *= 2) {
+            for (int low = 0; low < size; low += 2 * width) {
+                int middle = Math.min(low + width, size);
+                int high = Math.min(low + 2 * width, size);
+                int left = low, right = middle, out = low;
+                while (left < middle && right < high) {
+                    int from = ahead(fromPlaces[right], fromXs[right], fromRows[right], fromPlaces[left], fromXs[left], fromRows[left])
+                            ? right++ : left++;
+                    toRows[out] = fromRows[from];
+                    toPlaces[out] = fromPlaces[from];
+                    toXs[out++] = fromXs[from];
+                }
+                int rest = left < middle ? left : right;
+                int restEnd = left < middle ? middle : high;
+                System.arraycopy(fromRows, rest, toRows, out, restEnd - rest);
+                System.arraycopy(fromPlaces, rest, toPlaces, out, restEnd - rest);
+                System.arraycopy(fromXs, rest, toXs, out, restEnd - rest);
+            }
+            int[] rows = fromRows; fromRows = toRows; toRows = rows;
+            int[] placeSwap = fromPlaces; fromPlaces = toPlaces; toPlaces = placeSwap;
+            double[] xSwap = fromXs; fromXs = toXs; toXs = xSwap;
+        }
+        order = fromRows; orderBuffer = toRows;
+        places = fromPlaces; placeBuffer = toPlaces;
+        xs = fromXs; xBuffer = toXs;
+    }
+
+    /**
+     * @return whether row a is ranked ahead of row b, given the places (with {@link #RACING} for no place) and
+     * positions of both
+     */
+    private static boolean ahead(int placeA, double xA, int a, int placeB, double xB, int b) {
+        if (placeA != placeB) {
+            return Integer.compareUnsigned(placeA, placeB) < 0;
+        }
+        if (xA != xB) {
+            return xA > xB;
+        }
+        return a < b;
+    }
+
+    //region Queries
+    /**
+     * @return the turn of the snapshot the standings were last updated to
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * @return the number of ranked competitors
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param row a competitor's row in the {@link CompetitorStore}
+     * @return the rank of the competitor on that row, from 1 for the leader
+     */
+    public int getRank(int row) {
+        Objects.checkIndex(row, size);
+        return ranks[row] + 1;
+    }
+
+    /**
+     * @param rank a rank from 1 for the leader
+     * @return the row of the competitor with that rank
+     */
+    public int getRow(int rank) {
+        Objects.checkIndex(rank - 1, size);
+        return order[rank - 1];
+    }
+
+    /**
+     * @param count the number of leading competitors wanted
+     * @return the rows of the first {@code count} competitors, or of all of them if there are fewer, leader first
+     */
+    public int[] top(int count) {
+        ValidationUtils.assertNotNegative(count);
+        return Arrays.copyOf(order, Math.min(count, size));
+    }
+    //endregion
+}
@@ -0,0 +1,49 @@
+package game.competition;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Two {@link RaceSnapshot} buffers published in turns under a sequence lock.
+ * the publisher writes the buffer readers are not directed to, then publishes it; readers copy the last published
+ * buffer into their own snapshot and copy again only if the publisher started overwriting it meanwhile, so readers
+ * never block and never block the publisher.
+ */
+final class SnapshotBuffer {
+    private final RaceSnapshot[] buffers;
+    /** number of the publication being written, or of the last one when none is in progress */
+    private volatile long writing;
+    /** number of the last complete publication, written to {@code buffers[published & 1]} */
+    private volatile long published;
+
+    SnapshotBuffer(int capacity) {
+        buffers = new RaceSnapshot[]{new RaceSnapshot(capacity), new RaceSnapshot(capacity)};
+    }
+
+    /**
+     * publish the current state of the store; publishers are serialized, readers are not affected
+     */
+    synchronized void publish(CompetitorStore store, AtomicIntegerArray finished, int turn) {
+        long next = published + 1;
+        writing = next;
+        VarHandle.storeStoreFence(); // readers must see the new writing number before any write to the buffer
+        buffers[(int) (next & 1)].copyFrom(store, finished, turn);
+        published = next;
+    }
+
+    /**
+     * copy the last published snapshot into the given one, retrying while it is being overwritten
+     */
+    void read(RaceSnapshot target) {
+        while (true) {
+            long number = published;
+            target.copyFrom(buffers[(int) (number & 1)]);
+            VarHandle.loadLoadFence(); // the copy must complete before checking it was not overwritten
+            if (writing <= number + 1) {
+                // the buffer just copied is written again only by publication number + 2
+                return;
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -42,4 +42,9 @@ public class WinterCompetition extends Competition {
     public Gender getGender() {
     	return gender;
     }
+
+    @Override
+    public WinterArena getArena() {
+        return (WinterArena) super.getArena();
+    }
 }
@@ -1,28 +1,29 @@
 package game.entities;
 
-import java.util.Observable;
-
 import utilities.Point;
 import utilities.ValidationUtils;
 
 
-public abstract class Entity extends Observable{
-    private Point location;
+public abstract class Entity {
+    private double x;
+    private double y;
 
     public Entity(){
         this(new Point());
     }
 
     public Entity(Point location) {
-        this.location = location;
+        ValidationUtils.assertNotNull(location);
+        this.x = location.getX();
+        this.y = location.getY();
     }
 
     //region Getters & setters
     /**
-     * @return the current location of the entity
+     * @return a copy of the current location of the entity, unaffected by later moves
      */
     public Point getLocation() {
-        return location;
+        return new Point(getX(), getY());
     }
     /**
      * @param location the new location of the entity
@@ -30,7 +31,31 @@ public abstract class Entity extends Observable{
      */
     public void setLocation(Point location) {
         ValidationUtils.assertNotNull(location);
-        this.location = location;
+        setLocation(location.getX(), location.getY());
+    }
+
+    /**
+     * update the location in place, without allocating a new point
+     * @param x the new x position of the entity
+     * @param y the new y position of the entity
+     */
+    public void setLocation(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * @return the current x position of the entity
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * @return the current y position of the entity
+     */
+    public double getY() {
+        return y;
     }
     //endregion
 }
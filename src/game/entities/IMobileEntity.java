@@ -10,6 +10,8 @@ public interface IMobileEntity {
      */
     void move(double friction);
     Point getLocation();
+    double getX();
     double getSpeed();
+    double getAcceleration();
     double getMaxSpeed();
 }
@@ -1,7 +1,5 @@
 package game.entities;
 
-import utilities.Point;
-
 /**
  * Created by itzhak on 07-Mar-19.
  */
@@ -17,7 +15,7 @@ public class MobileEntity extends Entity implements IMobileEntity{
      * @param maxSpeed entity maximum speed
      */
     public MobileEntity( double initialSpeed,double acceleration, double maxSpeed){
-        this.setSpeed(initialSpeed);
+        this.speed = initialSpeed;
         this.acceleration = acceleration;
         this.maxSpeed = maxSpeed;
     }
@@ -30,8 +28,7 @@ public class MobileEntity extends Entity implements IMobileEntity{
     @Override
     public void move(double friction) {
         this.setSpeed(Math.min(this.maxSpeed,this.speed + this.getAcceleration()* (1-friction)));
-        Point newLocation = this.getLocation().offset(this.speed,0);
-        this.setLocation(newLocation);
+        this.setLocation(this.getX() + this.speed, this.getY());
     }
     //endregion
 
@@ -41,7 +38,7 @@ public class MobileEntity extends Entity implements IMobileEntity{
      * Note: speed can theoretically be negative
      * @param speed the current speed of the entity
      */
-    private void setSpeed(double speed) {
+    protected void setSpeed(double speed) {
         this.speed = speed;
     }
     //endregion
@@ -51,7 +48,7 @@ public class MobileEntity extends Entity implements IMobileEntity{
     /**
      * @return the acceleration of the entity
      */
-    protected double getAcceleration() {
+    public double getAcceleration() {
         return acceleration;
     }
     
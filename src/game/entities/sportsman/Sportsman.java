@@ -15,10 +15,16 @@ public class Sportsman extends MobileEntity {
         this.name = name;
         this.age = age;
         this.gender = gender;
+        this.acceleration = acceleration;
     }
     public void setAcceleration(double acceleration) {
         this.acceleration = acceleration;
     }
+
+    @Override
+    public double getAcceleration() {
+        return acceleration;
+    }
     //region Getters & setters
     public String getName() {
         return name;
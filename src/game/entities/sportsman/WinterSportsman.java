@@ -1,18 +1,29 @@
 package game.entities.sportsman;
 
 import game.arena.IArena;
+import game.competition.Competition;
 import game.competition.Competitor;
+import game.competition.CompetitorStore;
 import game.enums.*;
+import game.events.EventBus;
+import game.events.PositionChanged;
+import game.events.RaceEvent;
+import game.events.StateChanged;
+import game.metrics.EngineMetrics;
 import utilities.Point;
+import utilities.ValidationUtils;
 
 
-public class WinterSportsman extends Sportsman implements Competitor {
+public class WinterSportsman extends Sportsman implements Competitor, Cloneable {
     private final Discipline discipline;
     private Point finish;
     private IArena arena;
     private int number;
     private Color color;
     private CompetitorState State;
+    private CompetitorStore store;
+    private Competition competition;
+    private int row;
 
     public WinterSportsman(String name, double age, Gender gender, double acceleration, double maxSpeed, Discipline discipline) {
         super(name, age, gender, acceleration, maxSpeed);
@@ -23,7 +34,7 @@ public class WinterSportsman extends Sportsman implements Competitor {
     }
     @Override
     public void initRace() {
-        this.setLocation(new Point(0,this.getLocation().getY()));
+        this.setLocation(0, this.getY());
     }
     
     @Override
@@ -33,6 +44,56 @@ public class WinterSportsman extends Sportsman implements Competitor {
         this.arena = arena;
     }
 
+    @Override
+    public void setCompetition(Competition competition) {
+        ValidationUtils.assertNotNull(competition);
+        this.competition = competition;
+    }
+
+    @Override
+    public void attach(CompetitorStore store, int row) {
+        ValidationUtils.assertNotNull(store);
+        this.store = store;
+        this.row = row;
+        store.setState(row, State);
+    }
+
+    //region Movement state, read from the competition store once attached
+    @Override
+    public void move(double friction) {
+        if (store == null) {
+            super.move(friction);
+        } else {
+            store.move(row, friction);
+        }
+    }
+
+    @Override
+    public void setLocation(double x, double y) {
+        if (store == null) {
+            super.setLocation(x, y);
+        } else {
+            store.setLocation(row, x, y);
+            if (competition != null) competition.motionChanged(this);
+        }
+    }
+
+    @Override
+    public double getX() {
+        return store == null ? super.getX() : store.getX(row);
+    }
+
+    @Override
+    public double getY() {
+        return store == null ? super.getY() : store.getY(row);
+    }
+
+    @Override
+    public double getSpeed() {
+        return store == null ? super.getSpeed() : store.getSpeed(row);
+    }
+    //endregion
+
     @Override
     public String toString() {
         return getClass().getSimpleName() + " " + getName();
@@ -47,37 +108,79 @@ public class WinterSportsman extends Sportsman implements Competitor {
     public double getAcceleration() {
         return super.getAcceleration()+ League.calcAccelerationBonus(this.getAge());
     }
+
+    /**
+     * @return the acceleration given at construction, without the league bonus of {@link #getAcceleration()}
+     */
+    public double getBaseAcceleration() {
+        return super.getAcceleration();
+    }
     //endregion
     
 	private boolean competitionInProgress() {
-		boolean res = getLocation().getX() < finish.getX();
-		Point p = getLocation();
-		if (!res) setLocation(new Point(finish.getX(),p.getY()));
+		boolean res = getX() < finish.getX();
+		if (!res) setLocation(finish.getX(), getY());
 		return res;
 	}
+    /**
+     * change the acceleration; once attached to a competition the race moves with the new value from its next step,
+     * and the competition predicts its finish again
+     */
+    @Override
     public void setAcceleration(double acceleration) {
         super.setAcceleration(acceleration);
+        if (store != null) {
+            store.setAcceleration(row, getAcceleration());
+            if (competition != null) competition.motionChanged(this);
+        }
     }
     
 	
 	@Override
 	public void run() {
+		EngineMetrics metrics = EngineMetrics.getInstance();
 		while (competitionInProgress()) {
-			move(arena.getFriction());
+			move(arena.getFriction(getX()));
+			metrics.recordMove();
+			EventBus bus = busFor(PositionChanged.class);
+			if (bus != null) bus.publish(new PositionChanged(this, 0, getX(), getSpeed()));
             try { 
                    Thread.sleep(100);
             } catch (InterruptedException ex) {
                    ex.printStackTrace();
             }
 		}
-		setChanged();
-		notifyObservers();
+		if (competition != null) {
+			competition.competitorFinished(this);
+		}
 	}
 
+	/**
+	 * @return the bus of the competition if someone listens to events of this type, so events nobody reads are never built
+	 */
+	private EventBus busFor(Class<? extends RaceEvent> type) {
+		if (competition == null || !competition.getEventBus().hasSubscribers(type)) {
+			return null;
+		}
+		return competition.getEventBus();
+	}
+
+    /**
+     * @return a copy with the current position, speed and state, not attached to any competition
+     */
     @Override
     public WinterSportsman clone() {
         try {
-            return (WinterSportsman) super.clone();
+            WinterSportsman copy = (WinterSportsman) super.clone();
+            if (store != null) {
+                copy.store = null;
+                copy.competition = null;
+                copy.row = 0;
+                copy.setLocation(getX(), getY());
+                copy.setSpeed(getSpeed());
+                copy.State = getState();
+            }
+            return copy;
         } catch (CloneNotSupportedException e) {
             e.printStackTrace();
             return null;
@@ -101,11 +204,14 @@ public class WinterSportsman extends Sportsman implements Competitor {
     }
 
     public CompetitorState getState() {
-        return State;
+        return store == null ? State : store.getState(row);
     }
 
     public void setState(CompetitorState state) {
         this.State = state;
+        if (store != null) store.setState(row, state);
+        EventBus bus = busFor(StateChanged.class);
+        if (bus != null) bus.publish(new StateChanged(this, competition.getTurn(), state));
     }
 
 }
@@ -0,0 +1,11 @@
+package game.enums;
+
+/**
+ * The kind of threads used to run competitors in {@code Competition.startCompetition}.
+ */
+public enum ExecutionMode {
+    /** one pooled platform thread per competitor */
+    PLATFORM_THREADS,
+    /** one virtual thread per competitor, cheap enough for very large fields */
+    VIRTUAL_THREADS
+}
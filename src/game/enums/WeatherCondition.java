@@ -4,7 +4,20 @@ package game.enums;
  * Created by itzhak on 09-Mar-19.
  */
 public enum WeatherCondition {
-    SUNNY,
-    CLOUDY,
-    STORMY
+    SUNNY(1.0),
+    CLOUDY(1.1),
+    STORMY(1.25);
+
+    private final double frictionFactor;
+
+    WeatherCondition(double frictionFactor){
+        this.frictionFactor = frictionFactor;
+    }
+
+    /**
+     * @return how much the weather multiplies the friction of the surface
+     */
+    public double getFrictionFactor(){
+        return frictionFactor;
+    }
 }
@@ -0,0 +1,162 @@
+package game.events;
+
+import game.metrics.EngineMetrics;
+import utilities.ValidationUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Typed publish/subscribe channel for race events.
+ * Each subscription has its own lock-free queue: publishing never blocks and may happen on any number of threads.
+ * Queued events are handed to subscribers in batches when {@link #flush()} is called, once per turn by the
+ * competition playing turns, or by whoever drives a threaded race.
+ * Subscriptions match the exact event class.
+ * a subscriber that throws is reported and skipped for that batch; the other subscribers still get theirs.
+ * every published event is an object, plus one queue node per subscriber of its class: a race with a
+ * {@link PositionChanged} subscriber allocates for every competitor on every turn. readers that only need the
+ * current positions should read race snapshots instead.
+ */
+public class EventBus {
+    private static final EngineMetrics METRICS = EngineMetrics.getInstance();
+    private static final Subscription<?>[] NONE = new Subscription<?>[0];
+
+    private final Map<Class<? extends RaceEvent>, Subscription<?>[]> subscriptions = new ConcurrentHashMap<>();
+    private volatile Subscription<?>[] all = NONE;
+    private final AtomicBoolean flushing = new AtomicBoolean();
+
+    /**
+     * @param type the class of events to receive
+     * @param subscriber the receiver of the events
+     * @return the subscription, to be passed to {@link #unsubscribe(Subscription)}
+     */
+    public synchronized <E extends RaceEvent> Subscription<E> subscribe(Class<E> type, EventSubscriber<? super E> subscriber) {
+        ValidationUtils.assertNotNull(type);
+        ValidationUtils.assertNotNull(subscriber);
+        Subscription<E> subscription = new Subscription<>(type, subscriber);
+        subscriptions.put(type, append(subscriptions.getOrDefault(type, NONE), subscription));
+        all = append(all, subscription);
+        return subscription;
+    }
+
+    /**
+     * stop delivering to a subscription; events still queued for it are dropped
+     */
+    public synchronized void unsubscribe(Subscription<?> subscription) {
+        ValidationUtils.assertNotNull(subscription);
+        Subscription<?>[] remaining = remove(subscriptions.getOrDefault(subscription.type, NONE), subscription);
+        if (remaining.length == 0) {
+            subscriptions.remove(subscription.type);
+        } else {
+            subscriptions.put(subscription.type, remaining);
+        }
+        all = remove(all, subscription);
+    }
+
+    /**
+     * lets publishers skip building events nobody listens to
+     * @return true if at least one subscriber receives events of this class
+     */
+    public boolean hasSubscribers(Class<? extends RaceEvent> type) {
+        return subscriptions.containsKey(type);
+    }
+
+    /**
+     * queue an event for every subscriber of its class
+     */
+    public void publish(RaceEvent event) {
+        ValidationUtils.assertNotNull(event);
+        Subscription<?>[] targets = subscriptions.get(event.getClass());
+        if (targets == null) {
+            return;
+        }
+        for (Subscription<?> subscription : targets) {
+            subscription.queue.offer(event);
+        }
+    }
+
+    /**
+     * deliver everything queued so far, one batch per subscriber.
+     * if another thread is already flushing this call returns at once; that flush looks at the queues again once it
+     * is done, so events published before this call still go out with it.
+     */
+    public void flush() {
+        // an event queued just after a flusher passed its queue but before it cleared the flag would otherwise wait
+        // for the next flush, while the thread that queued it gave up because the flag was still set
+        while (flushing.compareAndSet(false, true)) {
+            try {
+                for (Subscription<?> subscription : all) {
+                    subscription.deliver();
+                }
+            } finally {
+                flushing.set(false);
+            }
+            if (!hasQueued()) {
+                return;
+            }
+        }
+    }
+
+    private boolean hasQueued() {
+        for (Subscription<?> subscription : all) {
+            if (!subscription.queue.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Subscription<?>[] append(Subscription<?>[] array, Subscription<?> subscription) {
+        Subscription<?>[] copy = Arrays.copyOf(array, array.length + 1);
+        copy[array.length] = subscription;
+        return copy;
+    }
+
+    private static Subscription<?>[] remove(Subscription<?>[] array, Subscription<?> subscription) {
+        return Arrays.stream(array).filter(s -> s != subscription).toArray(Subscription<?>[]::new);
+    }
+
+    /**
+     * A subscriber with its queue of pending events
+     * @param <E> the type of events received
+     */
+    public static final class Subscription<E extends RaceEvent> {
+        private final Class<E> type;
+        private final EventSubscriber<? super E> subscriber;
+        private final ConcurrentLinkedQueue<RaceEvent> queue = new ConcurrentLinkedQueue<>();
+        private final List<E> batch = new ArrayList<>();
+
+        private Subscription(Class<E> type, EventSubscriber<? super E> subscriber) {
+            this.type = type;
+            this.subscriber = subscriber;
+        }
+
+        private void deliver() {
+            for (RaceEvent event = queue.poll(); event != null; event = queue.poll()) {
+                batch.add(type.cast(event));
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                subscriber.onEvents(batch);
+            } catch (RuntimeException e) {
+                System.err.println("Error: subscriber to " + type.getSimpleName() + " failed on " + batch.size() + " events");
+                e.printStackTrace();
+            } finally {
+                batch.clear();
+                METRICS.recordNotification(System.nanoTime() - start);
+            }
+        }
+
+        public Class<E> getType() {
+            return type;
+        }
+    }
+}
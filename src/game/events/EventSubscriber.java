@@ -0,0 +1,16 @@
+package game.events;
+
+import java.util.List;
+
+/**
+ * Receives the events of one type, a batch per {@link EventBus#flush()}.
+ * @param <E> the type of events received
+ */
+@FunctionalInterface
+public interface EventSubscriber<E extends RaceEvent> {
+    /**
+     * @param events the events published since the previous delivery, in publishing order;
+     *               the list is reused by the bus and only valid during the call
+     */
+    void onEvents(List<? extends E> events);
+}
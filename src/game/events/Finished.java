@@ -0,0 +1,27 @@
+package game.events;
+
+import game.competition.Competitor;
+
+/**
+ * A competitor crossed the finish line and was given its place in the results.
+ */
+public class Finished extends RaceEvent {
+    private final int place;
+
+    public Finished(Competitor competitor, int turn, int place) {
+        super(competitor, turn);
+        this.place = place;
+    }
+
+    /**
+     * @return the place in the results, starting at 1
+     */
+    public int getPlace() {
+        return place;
+    }
+
+    @Override
+    public String toString() {
+        return place + ". " + getCompetitor();
+    }
+}
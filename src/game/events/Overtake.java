@@ -0,0 +1,27 @@
+package game.events;
+
+import game.competition.Competitor;
+
+/**
+ * A competitor that was behind another one at the end of the previous turn is now ahead of it.
+ */
+public class Overtake extends RaceEvent {
+    private final Competitor overtaken;
+
+    public Overtake(Competitor competitor, int turn, Competitor overtaken) {
+        super(competitor, turn);
+        this.overtaken = overtaken;
+    }
+
+    /**
+     * @return the competitor that was passed
+     */
+    public Competitor getOvertaken() {
+        return overtaken;
+    }
+
+    @Override
+    public String toString() {
+        return getCompetitor() + " overtook " + overtaken;
+    }
+}
@@ -0,0 +1,32 @@
+package game.events;
+
+import game.competition.Competitor;
+
+/**
+ * A competitor moved.
+ * published for every moving competitor on every turn while anyone subscribes, so subscribing costs an event per
+ * competitor per turn.
+ */
+public class PositionChanged extends RaceEvent {
+    private final double x;
+    private final double speed;
+
+    public PositionChanged(Competitor competitor, int turn, double x, double speed) {
+        super(competitor, turn);
+        this.x = x;
+        this.speed = speed;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    @Override
+    public String toString() {
+        return getCompetitor() + " at " + x + " speed " + speed;
+    }
+}
@@ -0,0 +1,28 @@
+package game.events;
+
+import game.competition.Competitor;
+
+/**
+ * Base class of everything published on an {@link EventBus}. Events are immutable.
+ */
+public abstract class RaceEvent {
+    private final Competitor competitor;
+    private final int turn;
+
+    /**
+     * @param competitor the competitor the event is about
+     * @param turn the turn of the competition when the event happened, 0 for threaded races
+     */
+    protected RaceEvent(Competitor competitor, int turn) {
+        this.competitor = competitor;
+        this.turn = turn;
+    }
+
+    public Competitor getCompetitor() {
+        return competitor;
+    }
+
+    public int getTurn() {
+        return turn;
+    }
+}
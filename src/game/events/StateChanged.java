@@ -0,0 +1,25 @@
+package game.events;
+
+import game.competition.Competitor;
+import game.enums.CompetitorState;
+
+/**
+ * A competitor changed state, e.g. got injured.
+ */
+public class StateChanged extends RaceEvent {
+    private final CompetitorState state;
+
+    public StateChanged(Competitor competitor, int turn, CompetitorState state) {
+        super(competitor, turn);
+        this.state = state;
+    }
+
+    public CompetitorState getState() {
+        return state;
+    }
+
+    @Override
+    public String toString() {
+        return getCompetitor() + " is " + state;
+    }
+}
@@ -0,0 +1,13 @@
+package game.factory;
+
+import game.arena.IArena;
+import game.enums.SnowSurface;
+import game.enums.WeatherCondition;
+
+/**
+ * Creates arenas of one type; usually a constructor reference such as {@code WinterArena::new}.
+ */
+@FunctionalInterface
+public interface ArenaFactory {
+    IArena create(double length, SnowSurface surface, WeatherCondition condition);
+}
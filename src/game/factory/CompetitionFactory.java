@@ -0,0 +1,15 @@
+package game.factory;
+
+import game.arena.WinterArena;
+import game.competition.WinterCompetition;
+import game.enums.Discipline;
+import game.enums.Gender;
+import game.enums.League;
+
+/**
+ * Creates competitions of one type; usually a constructor reference such as {@code SkiCompetition::new}.
+ */
+@FunctionalInterface
+public interface CompetitionFactory {
+    WinterCompetition create(WinterArena arena, int maxCompetitors, Discipline discipline, League league, Gender gender);
+}
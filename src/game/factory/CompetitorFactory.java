@@ -0,0 +1,13 @@
+package game.factory;
+
+import game.entities.sportsman.WinterSportsman;
+import game.enums.Discipline;
+import game.enums.Gender;
+
+/**
+ * Creates the competitors of one competition type; usually a constructor reference such as {@code Skier::new}.
+ */
+@FunctionalInterface
+public interface CompetitorFactory {
+    WinterSportsman create(String name, double age, Gender gender, double acceleration, double maxSpeed, Discipline discipline);
+}
@@ -0,0 +1,23 @@
+package game.factory;
+
+import game.arena.SummerArena;
+import game.arena.WinterArena;
+import game.competition.SkiCompetition;
+import game.competition.SnowboardCompetition;
+import game.entities.sportsman.Skier;
+import game.entities.sportsman.Snowboarder;
+
+/**
+ * The competitions, competitors and arenas of the game.
+ */
+public class DefaultFactories implements FactoryProvider {
+    @Override
+    public void registerFactories(FactoryRegistry registry) {
+        registry.registerCompetition("Ski", SkiCompetition::new);
+        registry.registerCompetitor("Ski", Skier::new);
+        registry.registerCompetition("Snowboard", SnowboardCompetition::new);
+        registry.registerCompetitor("Snowboard", Snowboarder::new);
+        registry.registerArena("Winter", WinterArena::new);
+        registry.registerArena("Summer", SummerArena::new);
+    }
+}
@@ -0,0 +1,13 @@
+package game.factory;
+
+/**
+ * Service interface through which {@link FactoryRegistry} discovers factories with {@link java.util.ServiceLoader}.
+ * implementations are listed in {@code META-INF/services/game.factory.FactoryProvider} and need a public
+ * no argument constructor.
+ */
+public interface FactoryProvider {
+    /**
+     * register every factory this provider offers
+     */
+    void registerFactories(FactoryRegistry registry);
+}
@@ -0,0 +1,100 @@
+package game.factory;
+
+import utilities.ValidationUtils;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Factories for competitions, their competitors and arenas, looked up by type name, ignoring case.
+ * competitions and competitors share the type name used throughout the game ("Ski", "Snowboard"), arenas are
+ * "Winter" or "Summer".
+ * the shared registry discovers every {@link FactoryProvider} once, on first use; looking a factory up is a map
+ * access and creating through it a direct constructor call, so factories can be fetched once and used in bulk.
+ */
+public final class FactoryRegistry {
+    private final Map<String, CompetitionFactory> competitions = new ConcurrentHashMap<>();
+    private final Map<String, CompetitorFactory> competitors = new ConcurrentHashMap<>();
+    private final Map<String, ArenaFactory> arenas = new ConcurrentHashMap<>();
+
+    private static final class Holder {
+        private static final FactoryRegistry INSTANCE = load();
+    }
+
+    /**
+     * @return the registry of the factories of every {@link FactoryProvider} on the class path
+     */
+    public static FactoryRegistry getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * @return a registry of the factories of every {@link FactoryProvider} visible to {@link ServiceLoader}
+     */
+    public static FactoryRegistry load() {
+        FactoryRegistry registry = new FactoryRegistry();
+        for (FactoryProvider provider : ServiceLoader.load(FactoryProvider.class, FactoryRegistry.class.getClassLoader())) {
+            provider.registerFactories(registry);
+        }
+        return registry;
+    }
+
+    //region Registration
+    public void registerCompetition(String type, CompetitionFactory factory) {
+        register(competitions, type, factory);
+    }
+
+    public void registerCompetitor(String type, CompetitorFactory factory) {
+        register(competitors, type, factory);
+    }
+
+    public void registerArena(String type, ArenaFactory factory) {
+        register(arenas, type, factory);
+    }
+
+    private static <F> void register(Map<String, F> factories, String type, F factory) {
+        ValidationUtils.assertNotNullOrEmptyString(type);
+        ValidationUtils.assertNotNull(factory);
+        factories.put(key(type), factory);
+    }
+    //endregion
+
+    //region Lookup
+    /**
+     * @throws IllegalArgumentException if no competition of that type was registered
+     */
+    public CompetitionFactory getCompetitionFactory(String type) {
+        return lookup(competitions, "competition", type);
+    }
+
+    /**
+     * @param type the type of the competition the competitors race in
+     * @throws IllegalArgumentException if no competitor of that type was registered
+     */
+    public CompetitorFactory getCompetitorFactory(String type) {
+        return lookup(competitors, "competitor", type);
+    }
+
+    /**
+     * @throws IllegalArgumentException if no arena of that type was registered
+     */
+    public ArenaFactory getArenaFactory(String type) {
+        return lookup(arenas, "arena", type);
+    }
+
+    private static <F> F lookup(Map<String, F> factories, String kind, String type) {
+        ValidationUtils.assertNotNull(type);
+        F factory = factories.get(key(type));
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown " + kind + " type: " + type);
+        }
+        return factory;
+    }
+    //endregion
+
+    private static String key(String type) {
+        return type.toLowerCase(Locale.ROOT);
+    }
+}
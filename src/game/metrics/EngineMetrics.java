@@ -0,0 +1,209 @@
+package game.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Throughput and latency of the engine, shared by every competition, the game engine and the arena panel, and
+ * exported through JMX as {@value #OBJECT_NAME} for jconsole or a monitoring agent.
+ * every measurement is a striped counter or a fixed bucket {@link LatencyHistogram}, safe and cheap to update from
+ * any number of threads.
+ */
+public class EngineMetrics implements EngineMetricsMBean {
+    public static final String OBJECT_NAME = "game:type=EngineMetrics";
+
+    private final RateMeter ticks = new RateMeter();
+    private final LatencyHistogram tickLatency = new LatencyHistogram();
+    private final RateMeter moves = new RateMeter();
+    private final RateMeter finishes = new RateMeter();
+    private final LatencyHistogram raceTime = new LatencyHistogram();
+    private final LatencyHistogram notificationLatency = new LatencyHistogram();
+    private final LatencyHistogram frameTime = new LatencyHistogram();
+    private final RateMeter droppedFrames = new RateMeter();
+
+    private static final class Holder {
+        private static final EngineMetrics INSTANCE = register(new EngineMetrics());
+    }
+
+    /**
+     * @return the metrics of this JVM, registered with the platform MBean server on first use
+     */
+    public static EngineMetrics getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private static EngineMetrics register(EngineMetrics metrics) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // registered by another class loader, this copy still records but is not exported
+        } catch (JMException | SecurityException e) {
+            e.printStackTrace();
+        }
+        return metrics;
+    }
+
+    //region Recording
+    /**
+     * @param nanos how long the turn took
+     * @param moved how many competitors moved during the turn
+     */
+    public void recordTick(long nanos, int moved) {
+        ticks.increment();
+        tickLatency.record(nanos);
+        moves.add(moved);
+    }
+
+    /**
+     * count a single move of a competitor running on its own thread
+     */
+    public void recordMove() {
+        moves.increment();
+    }
+
+    public void recordFinish() {
+        finishes.increment();
+    }
+
+    public void recordRace(long nanos) {
+        raceTime.record(nanos);
+    }
+
+    /**
+     * @param nanos how long a subscriber took to handle a batch of events
+     */
+    public void recordNotification(long nanos) {
+        notificationLatency.record(nanos);
+    }
+
+    /**
+     * @param nanos how long a frame took to prepare and render
+     */
+    public void recordFrame(long nanos) {
+        frameTime.record(nanos);
+    }
+
+    /**
+     * @param dropped how many frames were due but skipped because the previous ones ran late
+     */
+    public void recordDroppedFrames(long dropped) {
+        droppedFrames.add(dropped);
+    }
+    //endregion
+
+    //region EngineMetricsMBean
+    @Override
+    public long getTicks() {
+        return ticks.getCount();
+    }
+
+    @Override
+    public double getTicksPerSecond() {
+        return ticks.getRate();
+    }
+
+    @Override
+    public double getTickLatencyMeanMicros() {
+        return tickLatency.getMean() / 1e3;
+    }
+
+    @Override
+    public double getTickLatencyP50Micros() {
+        return tickLatency.getPercentile(50) / 1e3;
+    }
+
+    @Override
+    public double getTickLatencyP99Micros() {
+        return tickLatency.getPercentile(99) / 1e3;
+    }
+
+    @Override
+    public double getTickLatencyMaxMicros() {
+        return tickLatency.getMax() / 1e3;
+    }
+
+    @Override
+    public long getMoves() {
+        return moves.getCount();
+    }
+
+    @Override
+    public double getMovesPerSecond() {
+        return moves.getRate();
+    }
+
+    @Override
+    public long getFinishes() {
+        return finishes.getCount();
+    }
+
+    @Override
+    public long getRaces() {
+        return raceTime.getCount();
+    }
+
+    @Override
+    public double getRaceTimeMeanMicros() {
+        return raceTime.getMean() / 1e3;
+    }
+
+    @Override
+    public long getNotifications() {
+        return notificationLatency.getCount();
+    }
+
+    @Override
+    public double getNotificationLatencyMeanMicros() {
+        return notificationLatency.getMean() / 1e3;
+    }
+
+    @Override
+    public double getNotificationLatencyP99Micros() {
+        return notificationLatency.getPercentile(99) / 1e3;
+    }
+
+    @Override
+    public double getNotificationLatencyMaxMicros() {
+        return notificationLatency.getMax() / 1e3;
+    }
+
+    @Override
+    public long getFrames() {
+        return frameTime.getCount();
+    }
+
+    @Override
+    public double getFrameTimeMeanMicros() {
+        return frameTime.getMean() / 1e3;
+    }
+
+    @Override
+    public double getFrameTimeP99Micros() {
+        return frameTime.getPercentile(99) / 1e3;
+    }
+
+    @Override
+    public double getFrameTimeMaxMicros() {
+        return frameTime.getMax() / 1e3;
+    }
+
+    @Override
+    public long getDroppedFrames() {
+        return droppedFrames.getCount();
+    }
+
+    @Override
+    public void reset() {
+        ticks.reset();
+        tickLatency.reset();
+        moves.reset();
+        finishes.reset();
+        raceTime.reset();
+        notificationLatency.reset();
+        frameTime.reset();
+        droppedFrames.reset();
+    }
+    //endregion
+}
@@ -0,0 +1,47 @@
+package game.metrics;
+
+/**
+ * Management interface of {@link EngineMetrics}, registered as {@value EngineMetrics#OBJECT_NAME}.
+ * durations are in microseconds, rates in events per second.
+ */
+public interface EngineMetricsMBean {
+    //region Turns
+    long getTicks();
+    double getTicksPerSecond();
+    double getTickLatencyMeanMicros();
+    double getTickLatencyP50Micros();
+    double getTickLatencyP99Micros();
+    double getTickLatencyMaxMicros();
+    //endregion
+
+    //region Competitors
+    long getMoves();
+    double getMovesPerSecond();
+    long getFinishes();
+    //endregion
+
+    //region Races
+    long getRaces();
+    double getRaceTimeMeanMicros();
+    //endregion
+
+    //region Events
+    long getNotifications();
+    double getNotificationLatencyMeanMicros();
+    double getNotificationLatencyP99Micros();
+    double getNotificationLatencyMaxMicros();
+    //endregion
+
+    //region Frames
+    long getFrames();
+    double getFrameTimeMeanMicros();
+    double getFrameTimeP99Micros();
+    double getFrameTimeMaxMicros();
+    long getDroppedFrames();
+    //endregion
+
+    /**
+     * start every measurement over
+     */
+    void reset();
+}
@@ -0,0 +1,52 @@
+package game.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A striped event counter that also reports how many events per second it counted recently.
+ * the rate is measured between reads, over at least {@link #WINDOW_NANOS}; reads closer together than that get
+ * the rate of the last complete window.
+ */
+public class RateMeter {
+    public static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final LongAdder count = new LongAdder();
+    private long windowStart = System.nanoTime();
+    private long windowCount;
+    private double rate;
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void add(long events) {
+        count.add(events);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return events per second over the last complete window
+     */
+    public synchronized double getRate() {
+        long now = System.nanoTime();
+        long elapsed = now - windowStart;
+        if (elapsed >= WINDOW_NANOS) {
+            long total = count.sum();
+            rate = (total - windowCount) * 1e9 / elapsed;
+            windowCount = total;
+            windowStart = now;
+        }
+        return rate;
+    }
+
+    public synchronized void reset() {
+        count.reset();
+        windowStart = System.nanoTime();
+        windowCount = 0;
+        rate = 0;
+    }
+}
@@ -0,0 +1,243 @@
+package game.orchestration;
+
+import game.competition.Competition;
+import utilities.ValidationUtils;
+
+import game.competition.Competitor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs many competitions at once on one shared, fixed size pool of worker threads.
+ * competitions are played turn by turn with {@link Competition#playTurn()}, a slice of a few turns at a time:
+ * after each slice the competition goes to the back of the pool's queue, so running competitions take turns in
+ * round robin and a competition never has two slices in flight. every competition plays the same number of turns
+ * per round, which takes a worker longer for a large field than for a small one: worker time is shared in
+ * proportion to field size, not equally.
+ * at most {@code maxRunning} competitions are admitted to the pool at once, up to {@code maxWaiting} more wait for a
+ * place in submission order, and any further submission is rejected, as is a competition that can never end.
+ * every submission gets a future completed with the competition when its race is over; cancelling the future stops
+ * the race after the current slice.
+ */
+public class CompetitionOrchestrator implements AutoCloseable {
+    public static final int DEFAULT_TURNS_PER_SLICE = 16;
+    /** how long {@link #close()} waits for admitted competitions before cancelling them, and then for the workers */
+    public static final long CLOSE_TIMEOUT_SECONDS = 60;
+
+    private final ExecutorService workers;
+    private final int maxRunning;
+    private final int maxWaiting;
+    private final int turnsPerSlice;
+    private final ArrayDeque<Race> waiting = new ArrayDeque<>();
+    /** every admitted race that is not over, running or waiting */
+    private final Set<Race> admitted = new HashSet<>();
+    private int running;
+    private boolean shutdown;
+
+    /**
+     * orchestrator with a worker per processor, admitting twice as many competitions as workers and queueing up to
+     * a thousand more
+     */
+    public CompetitionOrchestrator() {
+        this(Runtime.getRuntime().availableProcessors(), 2 * Runtime.getRuntime().availableProcessors(), 1000, DEFAULT_TURNS_PER_SLICE);
+    }
+
+    /**
+     * @param workers the number of worker threads
+     * @param maxRunning the number of competitions racing at once
+     * @param maxWaiting the number of admitted competitions waiting for a place to race
+     * @param turnsPerSlice the number of turns a competition plays before giving its worker to the next one
+     */
+    public CompetitionOrchestrator(int workers, int maxRunning, int maxWaiting, int turnsPerSlice) {
+        ValidationUtils.assertPositive(workers);
+        ValidationUtils.assertPositive(maxRunning);
+        ValidationUtils.assertNotNegative(maxWaiting);
+        ValidationUtils.assertPositive(turnsPerSlice);
+        this.maxRunning = maxRunning;
+        this.maxWaiting = maxWaiting;
+        this.turnsPerSlice = turnsPerSlice;
+        this.workers = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                new WorkerFactory());
+    }
+
+    /**
+     * admit a competition to race as soon as a place is free
+     * @param competition a competition with all of its competitors added, not raced in any other way
+     * @return a future completed with the competition once every competitor finished, or exceptionally if a turn failed
+     * @throws IllegalArgumentException if a competitor can never finish the race (see {@link Competition#findNeverFinishing()})
+     * @throws RejectedExecutionException if as many competitions as allowed are already waiting, or after {@link #shutdown()}
+     */
+    public CompletableFuture<Competition> submit(Competition competition) {
+        ValidationUtils.assertNotNull(competition);
+        Competitor stuck = competition.findNeverFinishing();
+        if (stuck != null) {
+            throw new IllegalArgumentException(stuck + " can never finish the race");
+        }
+        Race race = new Race(competition);
+        synchronized (this) {
+            if (shutdown) {
+                throw new RejectedExecutionException("the orchestrator is shut down");
+            }
+            if (running < maxRunning) {
+                running++;
+                admitted.add(race);
+            } else if (waiting.size() < maxWaiting) {
+                waiting.add(race);
+                admitted.add(race);
+                return race.future;
+            } else {
+                throw new RejectedExecutionException(waiting.size() + " competitions are already waiting");
+            }
+        }
+        workers.execute(race);
+        return race.future;
+    }
+
+    /**
+     * @return the number of competitions racing
+     */
+    public synchronized int getRunningCount() {
+        return running;
+    }
+
+    /**
+     * @return the number of competitions waiting for a place to race
+     */
+    public synchronized int getWaitingCount() {
+        return waiting.size();
+    }
+
+    /**
+     * stop admitting competitions; those already admitted race to the end, then the workers stop
+     */
+    public void shutdown() {
+        synchronized (this) {
+            shutdown = true;
+            if (running > 0 || !waiting.isEmpty()) {
+                return;
+            }
+        }
+        workers.shutdown();
+    }
+
+    /**
+     * wait for the workers to stop after {@link #shutdown()}
+     * @return false if the timeout elapsed first
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return workers.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * shut down and wait up to {@link #CLOSE_TIMEOUT_SECONDS} for every admitted competition to finish its race;
+     * the ones still racing then are cancelled, and the workers are given as long again to stop.
+     * if the calling thread is interrupted, the races are cancelled at once and the interrupt is kept
+     */
+    @Override
+    public void close() {
+        shutdown();
+        try {
+            if (!awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                cancelAll();
+                if (!awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    workers.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            cancelAll();
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * cancel every admitted competition; each stops after its current slice
+     */
+    private void cancelAll() {
+        List<Race> races;
+        synchronized (this) {
+            races = new ArrayList<>(admitted);
+        }
+        for (Race race : races) {
+            race.future.cancel(false);
+        }
+    }
+
+    /**
+     * give the place of a race that is over to the next waiting one
+     */
+    private void release(Race over) {
+        Race next;
+        synchronized (this) {
+            admitted.remove(over);
+            next = waiting.poll();
+            if (next == null) {
+                running--;
+                if (!shutdown || running > 0) {
+                    return;
+                }
+            }
+        }
+        if (next == null) {
+            workers.shutdown();
+        } else {
+            workers.execute(next);
+        }
+    }
+
+    /**
+     * A competition being raced, played a slice at a time
+     */
+    private final class Race implements Runnable {
+        private final Competition competition;
+        private final CompletableFuture<Competition> future = new CompletableFuture<>();
+
+        private Race(Competition competition) {
+            this.competition = competition;
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (int turn = 0; turn < turnsPerSlice && competition.hasActiveCompetitors() && !future.isDone(); turn++) {
+                    competition.playTurn();
+                }
+            } catch (RuntimeException | Error e) {
+                future.completeExceptionally(e);
+            }
+            if (future.isDone()) {
+                release(this);
+            } else if (!competition.hasActiveCompetitors()) {
+                future.complete(competition);
+                release(this);
+            } else {
+                workers.execute(this);
+            }
+        }
+    }
+
+    private static final class WorkerFactory implements ThreadFactory {
+        private static final AtomicInteger POOLS = new AtomicInteger();
+        private final int pool = POOLS.incrementAndGet();
+        private final AtomicInteger threads = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "competition-" + pool + "-worker-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
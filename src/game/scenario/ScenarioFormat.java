@@ -0,0 +1,40 @@
+package game.scenario;
+
+import java.io.IOException;
+
+/**
+ * Layout of a scenario file, all values big endian:
+ * <pre>
+ *   int magic | short version
+ *   arena:       short segments | segments times (double length | byte surface | byte weather)
+ *   competition: string type | byte discipline | byte league | byte gender | int max competitors | int competitors
+ *   competitor:  string name | double age | byte gender | double acceleration | double max speed | byte discipline
+ * </pre>
+ * a string is an unsigned short byte count followed by that many bytes of UTF-8.
+ * enums are stored by ordinal; reordering or removing a constant requires a new version.
+ * version 1 stored a single segment, without the count.
+ * the competition type is a type name of the {@link game.factory.FactoryRegistry}, "Ski" or "Snowboard".
+ */
+final class ScenarioFormat {
+    static final int MAGIC = 0x53434E52; // "SCNR"
+    static final short VERSION = 2;
+    /** the last version with a single segment arena */
+    static final short SINGLE_SEGMENT_VERSION = 1;
+    static final int MAX_SEGMENTS = 0xFFFF;
+    static final int BUFFER_SIZE = 1 << 16;
+    static final int MAX_STRING_BYTES = 0xFFFF;
+
+    private ScenarioFormat() {
+    }
+
+    /**
+     * @return the constant stored as the given ordinal
+     * @throws IOException if there is no such constant
+     */
+    static <E extends Enum<E>> E decode(E[] values, int ordinal) throws IOException {
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IOException("corrupt scenario: no " + values.getClass().getComponentType().getSimpleName() + " #" + ordinal);
+        }
+        return values[ordinal];
+    }
+}
@@ -0,0 +1,232 @@
+package game.scenario;
+
+import game.arena.ArenaSegment;
+import game.arena.WinterArena;
+import game.competition.WinterCompetition;
+import game.entities.sportsman.WinterSportsman;
+import game.enums.*;
+import game.factory.CompetitionFactory;
+import game.factory.CompetitorFactory;
+import game.factory.FactoryRegistry;
+import utilities.ValidationUtils;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads a scenario written by {@link ScenarioWriter}: the header at construction, then the roster one competitor
+ * at a time, so a roster never has to be held in memory apart from the competition it is loaded into.
+ * the channel is read a buffer at a time and values are decoded from the buffer.
+ */
+public class ScenarioReader implements Closeable {
+    private static final SnowSurface[] SURFACES = SnowSurface.values();
+    private static final WeatherCondition[] CONDITIONS = WeatherCondition.values();
+    private static final Discipline[] DISCIPLINES = Discipline.values();
+    private static final League[] LEAGUES = League.values();
+    private static final Gender[] GENDERS = Gender.values();
+
+    private final ReadableByteChannel in;
+    private final ByteBuffer buffer = ByteBuffer.allocate(ScenarioFormat.BUFFER_SIZE);
+    private final WinterArena arena;
+    private final String competitionType;
+    private final Discipline discipline;
+    private final League league;
+    private final Gender gender;
+    private final int maxCompetitors;
+    private final int competitors;
+    private CompetitorFactory competitorFactory;
+    private int read;
+
+    /**
+     * read the header of a scenario
+     * @param in the channel to read from, closed with this reader
+     * @throws IOException if the channel does not hold a scenario of a supported version
+     */
+    public ScenarioReader(ReadableByteChannel in) throws IOException {
+        ValidationUtils.assertNotNull(in);
+        this.in = in;
+        buffer.limit(0);
+        try {
+            require(4 + 2);
+            if (buffer.getInt() != ScenarioFormat.MAGIC) {
+                throw new IOException("not a scenario");
+            }
+            short version = buffer.getShort();
+            if (version != ScenarioFormat.VERSION && version != ScenarioFormat.SINGLE_SEGMENT_VERSION) {
+                throw new IOException("unsupported scenario version " + version);
+            }
+            int segmentCount = 1;
+            if (version != ScenarioFormat.SINGLE_SEGMENT_VERSION) {
+                require(2);
+                segmentCount = buffer.getShort() & 0xFFFF;
+                if (segmentCount == 0) {
+                    throw new IOException("corrupt scenario: arena without segments");
+                }
+            }
+            List<ArenaSegment> segments = new ArrayList<>(segmentCount);
+            for (int k = 0; k < segmentCount; k++) {
+                segments.add(getSegment());
+            }
+            arena = new WinterArena(segments);
+            competitionType = getString();
+            require(3 + 4 + 4);
+            discipline = ScenarioFormat.decode(DISCIPLINES, getUnsignedByte());
+            league = ScenarioFormat.decode(LEAGUES, getUnsignedByte());
+            gender = ScenarioFormat.decode(GENDERS, getUnsignedByte());
+            maxCompetitors = buffer.getInt();
+            competitors = buffer.getInt();
+            if (competitors < 0 || maxCompetitors < competitors) {
+                throw new IOException("corrupt scenario: " + competitors + " competitors for " + maxCompetitors + " places");
+            }
+        } catch (IOException | RuntimeException e) {
+            this.in.close();
+            throw e;
+        }
+    }
+
+    //region Getters
+    public WinterArena getArena() {
+        return arena;
+    }
+
+    /**
+     * @return the class name prefix of the competition, "Ski" or "Snowboard"
+     */
+    public String getCompetitionType() {
+        return competitionType;
+    }
+
+    public Discipline getDiscipline() {
+        return discipline;
+    }
+
+    public League getLeague() {
+        return league;
+    }
+
+    public Gender getGender() {
+        return gender;
+    }
+
+    public int getMaxCompetitors() {
+        return maxCompetitors;
+    }
+
+    public int getCompetitorCount() {
+        return competitors;
+    }
+    //endregion
+
+    public boolean hasNext() {
+        return read < competitors;
+    }
+
+    /**
+     * @return the next competitor of the roster, of the kind the competition type races
+     * @throws IOException if no factory is registered for the competitors of the competition type
+     */
+    public WinterSportsman next() throws IOException {
+        if (!hasNext()) {
+            throw new NoSuchElementException("all " + competitors + " competitors were read");
+        }
+        String name = getString();
+        require(8 + 1 + 8 + 8 + 1);
+        double age = buffer.getDouble();
+        Gender competitorGender = ScenarioFormat.decode(GENDERS, getUnsignedByte());
+        double acceleration = buffer.getDouble();
+        double maxSpeed = buffer.getDouble();
+        Discipline competitorDiscipline = ScenarioFormat.decode(DISCIPLINES, getUnsignedByte());
+        read++;
+        if (competitorFactory == null) {
+            try {
+                competitorFactory = FactoryRegistry.getInstance().getCompetitorFactory(competitionType);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("corrupt scenario: " + e.getMessage(), e);
+            }
+        }
+        return competitorFactory.create(name, age, competitorGender, acceleration, maxSpeed, competitorDiscipline);
+    }
+
+    //region Decoding
+    private int getUnsignedByte() {
+        return buffer.get() & 0xFF;
+    }
+
+    private ArenaSegment getSegment() throws IOException {
+        require(8 + 1 + 1);
+        double length = buffer.getDouble();
+        SnowSurface surface = ScenarioFormat.decode(SURFACES, getUnsignedByte());
+        WeatherCondition condition = ScenarioFormat.decode(CONDITIONS, getUnsignedByte());
+        return new ArenaSegment(length, surface, condition);
+    }
+
+    private String getString() throws IOException {
+        require(2);
+        int length = buffer.getShort() & 0xFFFF;
+        require(length);
+        String text = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return text;
+    }
+
+    /**
+     * make sure the given number of bytes can be decoded from the buffer, reading more from the channel if needed
+     * @throws EOFException if the channel ends first
+     */
+    private void require(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (in.read(buffer) < 0) {
+                throw new EOFException("scenario ends in the middle of a value");
+            }
+        }
+        buffer.flip();
+    }
+    //endregion
+
+    /**
+     * create the competition and add the rest of the roster to it
+     * @throws IOException if no factory is registered for the competition type
+     */
+    public WinterCompetition readCompetition() throws IOException {
+        CompetitionFactory factory;
+        try {
+            factory = FactoryRegistry.getInstance().getCompetitionFactory(competitionType);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("corrupt scenario: " + e.getMessage(), e);
+        }
+        WinterCompetition competition = factory.create(arena, maxCompetitors, discipline, league, gender);
+        while (hasNext()) {
+            competition.addCompetitor(next());
+        }
+        return competition;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * load a competition with its whole roster
+     */
+    public static WinterCompetition load(Path path) throws IOException {
+        ValidationUtils.assertNotNull(path);
+        try (ScenarioReader reader = new ScenarioReader(FileChannel.open(path, StandardOpenOption.READ))) {
+            return reader.readCompetition();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package game.scenario;
+
+import game.arena.ArenaSegment;
+import game.arena.WinterArena;
+import game.competition.WinterCompetition;
+import game.entities.sportsman.WinterSportsman;
+import utilities.ValidationUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes a competition and its roster as a scenario (see {@link ScenarioFormat}), one competitor at a time,
+ * encoding into a buffer that is handed to the channel whenever it fills up.
+ * the header is written at construction and announces how many competitors follow; {@link #close()} fails if a
+ * different number was written.
+ */
+public class ScenarioWriter implements Closeable {
+    private final WritableByteChannel out;
+    private final ByteBuffer buffer = ByteBuffer.allocate(ScenarioFormat.BUFFER_SIZE);
+    private final int competitors;
+    private int written;
+
+    /**
+     * write the header of a scenario
+     * @param out the channel to write to, closed with this writer
+     * @param competition the competition and arena to describe
+     * @param competitors the number of competitors that will be written
+     */
+    public ScenarioWriter(WritableByteChannel out, WinterCompetition competition, int competitors) throws IOException {
+        ValidationUtils.assertNotNull(out);
+        ValidationUtils.assertNotNull(competition);
+        ValidationUtils.assertNotNegative(competitors);
+        this.out = out;
+        this.competitors = competitors;
+
+        buffer.putInt(ScenarioFormat.MAGIC);
+        buffer.putShort(ScenarioFormat.VERSION);
+        WinterArena arena = competition.getArena();
+        List<ArenaSegment> segments = arena.getSegments();
+        if (segments.size() > ScenarioFormat.MAX_SEGMENTS) {
+            throw new IOException(segments.size() + " arena segments are too many for a scenario");
+        }
+        buffer.putShort((short) segments.size());
+        for (ArenaSegment segment : segments) {
+            ensure(8 + 1 + 1);
+            buffer.putDouble(segment.getLength());
+            buffer.put((byte) segment.getSurface().ordinal());
+            buffer.put((byte) segment.getCondition().ordinal());
+        }
+        putString(typeOf(competition));
+        ensure(3 + 4 + 4);
+        buffer.put((byte) competition.getDiscipline().ordinal());
+        buffer.put((byte) competition.getLeague().ordinal());
+        buffer.put((byte) competition.getGender().ordinal());
+        buffer.putInt(Math.max(competition.getMaxCompetitors(), competitors));
+        buffer.putInt(competitors);
+    }
+
+    /**
+     * append a competitor to the roster
+     */
+    public void write(WinterSportsman competitor) throws IOException {
+        ValidationUtils.assertNotNull(competitor);
+        if (written == competitors) {
+            throw new IllegalStateException("the scenario announced " + competitors + " competitors");
+        }
+        putString(competitor.getName());
+        ensure(8 + 1 + 8 + 8 + 1);
+        buffer.putDouble(competitor.getAge());
+        buffer.put((byte) competitor.getGender().ordinal());
+        buffer.putDouble(competitor.getBaseAcceleration());
+        buffer.putDouble(competitor.getMaxSpeed());
+        buffer.put((byte) competitor.getDiscipline().ordinal());
+        written++;
+    }
+
+    private void putString(String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > ScenarioFormat.MAX_STRING_BYTES) {
+            throw new IOException("\"" + text.substring(0, 20) + "...\" is too long for a scenario");
+        }
+        ensure(2);
+        buffer.putShort((short) bytes.length);
+        // reserved apart from the length, since the longest string and its length do not fit the buffer together
+        ensure(bytes.length);
+        buffer.put(bytes);
+    }
+
+    /**
+     * make room for the given number of bytes, writing out what is buffered if needed
+     */
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            out.close();
+        }
+        if (written != competitors) {
+            throw new IOException("the scenario announced " + competitors + " competitors but " + written + " were written");
+        }
+    }
+
+    /**
+     * save a competition with its whole roster
+     * @param path the scenario file, replaced if it exists
+     */
+    public static void save(Path path, WinterCompetition competition) throws IOException {
+        ValidationUtils.assertNotNull(path);
+        ValidationUtils.assertNotNull(competition);
+        int count = competition.getCompetitorCount();
+        // the channel is its own resource, so it is closed even if writing the header fails
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             ScenarioWriter writer = new ScenarioWriter(channel, competition, count)) {
+            for (int row = 0; row < count; row++) {
+                writer.write((WinterSportsman) competition.getCompetitor(row));
+            }
+        }
+    }
+
+    /**
+     * @return the class name prefix of the competition, "Ski" for a {@link game.competition.SkiCompetition}
+     */
+    private static String typeOf(WinterCompetition competition) {
+        String name = competition.getClass().getSimpleName();
+        return name.endsWith("Competition") ? name.substring(0, name.length() - "Competition".length()) : name;
+    }
+}
@@ -0,0 +1,313 @@
+package game.simulation;
+
+import game.arena.FrictionProfile;
+import game.arena.IArena;
+import game.competition.Competition;
+import game.competition.CompetitorStore;
+import utilities.ValidationUtils;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Headless race simulator that estimates race outcomes by running many randomized copies of a competition.
+ * Each replica scales every competitor's acceleration and max speed by gaussian noise, and shifts the friction of
+ * every arena segment by the same gaussian noise,
+ * then races the field with the same motion model as {@link CompetitorStore#move(FrictionProfile, int[], int, int)}.
+ * Replicas are split between the workers of a fork-join pool and share nothing until their tallies are merged,
+ * and each replica draws from its own random stream, so a given seed gives the same result on any pool size.
+ */
+public class MonteCarloSimulator {
+    public static final double DEFAULT_ACCELERATION_SPREAD = 0.1;
+    public static final double DEFAULT_MAX_SPEED_SPREAD = 0.05;
+    public static final double DEFAULT_FRICTION_SPREAD = 0.05;
+    private static final double MIN_SCALE = 0.05;
+    private static final double MAX_FRICTION = 0.99;
+    private static final int PODIUM = 3;
+
+    private final ForkJoinPool pool;
+    private final double accelerationSpread;
+    private final double maxSpeedSpread;
+    private final double frictionSpread;
+
+    /**
+     * Simulator on the common fork-join pool with the default spreads
+     */
+    public MonteCarloSimulator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_ACCELERATION_SPREAD, DEFAULT_MAX_SPEED_SPREAD, DEFAULT_FRICTION_SPREAD);
+    }
+
+    /**
+     * @param pool the pool the replicas run on
+     * @param accelerationSpread standard deviation of the relative noise applied to acceleration
+     * @param maxSpeedSpread standard deviation of the relative noise applied to max speed
+     * @param frictionSpread standard deviation of the absolute noise added to the friction of the arena segments
+     */
+    public MonteCarloSimulator(ForkJoinPool pool, double accelerationSpread, double maxSpeedSpread, double frictionSpread) {
+        ValidationUtils.assertNotNull(pool);
+        ValidationUtils.assertNotNegative(accelerationSpread);
+        ValidationUtils.assertNotNegative(maxSpeedSpread);
+        ValidationUtils.assertNotNegative(frictionSpread);
+        this.pool = pool;
+        this.accelerationSpread = accelerationSpread;
+        this.maxSpeedSpread = maxSpeedSpread;
+        this.frictionSpread = frictionSpread;
+    }
+
+    /**
+     * run {@code replicas} randomized races of the template; the template itself is not modified
+     * @param template a competition whose competitors have all been added
+     * @param replicas the number of races to run
+     * @param seed the seed of the random streams
+     * @return the win, podium and finish time statistics of every competitor of the template
+     */
+    public SimulationResult simulate(Competition template, int replicas, long seed) {
+        ValidationUtils.assertNotNull(template);
+        ValidationUtils.assertPositive(replicas);
+        Field field = new Field(template);
+        int leafSize = Math.max(1, replicas / (pool.getParallelism() * 8));
+        Tally tally = pool.invoke(new ReplicaTask(field, seed, 0, replicas, leafSize));
+        return tally.toResult(template, replicas);
+    }
+
+    /**
+     * the unperturbed physics of the template, read once
+     */
+    private static final class Field {
+        final int size;
+        final double[] startX;
+        final double[] startSpeed;
+        final double[] acceleration;
+        final double[] maxSpeed;
+        final FrictionProfile profile;
+        final double length;
+
+        Field(Competition template) {
+            CompetitorStore store = template.getStore();
+            IArena arena = template.getArena();
+            size = store.size();
+            ValidationUtils.assertPositive(size);
+            startX = new double[size];
+            startSpeed = new double[size];
+            acceleration = new double[size];
+            maxSpeed = new double[size];
+            for (int i = 0; i < size; i++) {
+                startX[i] = store.getX(i);
+                startSpeed[i] = store.getSpeed(i);
+                acceleration[i] = store.getAcceleration(i);
+                maxSpeed[i] = store.getMaxSpeed(i);
+                ValidationUtils.assertPositive(acceleration[i]);
+                ValidationUtils.assertPositive(maxSpeed[i]);
+            }
+            profile = arena.getFrictionProfile();
+            length = arena.getLength();
+        }
+    }
+
+    private final class ReplicaTask extends RecursiveTask<Tally> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Field field;
+        private final long seed;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        ReplicaTask(Field field, long seed, int from, int to, int leafSize) {
+            this.field = field;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from <= leafSize) {
+                Tally tally = new Tally(field.size);
+                Replica replica = new Replica(field.size, field.profile.getSegmentCount());
+                for (int r = from; r < to; r++) {
+                    replica.race(field, new SplittableRandom(replicaSeed(seed, r)));
+                    tally.add(replica.time);
+                }
+                return tally;
+            }
+            int middle = (from + to) >>> 1;
+            ReplicaTask left = new ReplicaTask(field, seed, from, middle, leafSize);
+            left.fork();
+            Tally right = new ReplicaTask(field, seed, middle, to, leafSize).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * scratch columns of a single race, reused by every replica of a leaf task
+     */
+    private final class Replica {
+        final double[] x;
+        final double[] speed;
+        final double[] acceleration;
+        final double[] maxSpeed;
+        final double[] time;
+        /** 1-friction of every arena segment in this race */
+        final double[] factors;
+
+        Replica(int size, int segments) {
+            x = new double[size];
+            speed = new double[size];
+            acceleration = new double[size];
+            maxSpeed = new double[size];
+            time = new double[size];
+            factors = new double[segments];
+        }
+
+        void race(Field field, SplittableRandom random) {
+            for (int i = 0; i < field.size; i++) {
+                acceleration[i] = field.acceleration[i] * scale(random, accelerationSpread);
+                maxSpeed[i] = field.maxSpeed[i] * scale(random, maxSpeedSpread);
+            }
+            double noise = random.nextGaussian() * frictionSpread;
+            for (int k = 0; k < factors.length; k++) {
+                factors[k] = 1 - Math.max(0, Math.min(MAX_FRICTION, field.profile.getFriction(k) + noise));
+            }
+            boolean uniform = field.profile.isUniform();
+            System.arraycopy(field.startX, 0, x, 0, field.size);
+            System.arraycopy(field.startSpeed, 0, speed, 0, field.size);
+            Arrays.fill(time, -1);
+            int remaining = field.size;
+            for (int turn = 0; remaining > 0; turn++) {
+                for (int i = 0; i < field.size; i++) {
+                    if (time[i] >= 0) {
+                        continue;
+                    }
+                    double previous = x[i];
+                    double factor = uniform ? factors[0] : factors[field.profile.segmentAt(previous)];
+                    speed[i] = Math.min(maxSpeed[i], speed[i] + acceleration[i] * factor);
+                    x[i] += speed[i];
+                    if (x[i] >= field.length) {
+                        time[i] = previous >= field.length ? turn : turn + (field.length - previous) / speed[i];
+                        remaining--;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * seed of the random stream of a replica. the streams of SplittableRandom seeded a multiple of its increment
+     * apart are the same stream shifted, so the replica number is mixed in rather than added
+     */
+    static long replicaSeed(long seed, int replica) {
+        return mix64(mix64(seed) + replica);
+    }
+
+    /**
+     * a bijective 64 bit finalizer, spreading consecutive inputs over unrelated outputs
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static double scale(SplittableRandom random, double spread) {
+        return Math.max(MIN_SCALE, 1 + random.nextGaussian() * spread);
+    }
+
+    /**
+     * statistics accumulated by one task and merged up the fork-join tree
+     */
+    private static final class Tally {
+        final long[] wins;
+        final long[] podiums;
+        final double[] timeSum;
+        final double[] timeSquareSum;
+        final double[] minTime;
+        final double[] maxTime;
+        final long[][] timeCounts;
+        final int[] podium = new int[PODIUM];
+
+        Tally(int size) {
+            wins = new long[size];
+            podiums = new long[size];
+            timeSum = new double[size];
+            timeSquareSum = new double[size];
+            minTime = new double[size];
+            maxTime = new double[size];
+            timeCounts = new long[size][];
+            Arrays.fill(minTime, Double.POSITIVE_INFINITY);
+            Arrays.fill(maxTime, Double.NEGATIVE_INFINITY);
+            for (int i = 0; i < size; i++) {
+                timeCounts[i] = new long[0];
+            }
+        }
+
+        /**
+         * record one race; ties go to the competitor with the lower row, as in {@code Competition.playTurn}
+         */
+        void add(double[] time) {
+            int places = Math.min(PODIUM, time.length);
+            Arrays.fill(podium, -1);
+            for (int i = 0; i < time.length; i++) {
+                double t = time[i];
+                timeSum[i] += t;
+                timeSquareSum[i] += t * t;
+                minTime[i] = Math.min(minTime[i], t);
+                maxTime[i] = Math.max(maxTime[i], t);
+                count(i, (int) t, 1);
+                int place = places;
+                while (place > 0 && (podium[place - 1] < 0 || t < time[podium[place - 1]])) {
+                    place--;
+                }
+                if (place < places) {
+                    System.arraycopy(podium, place, podium, place + 1, places - place - 1);
+                    podium[place] = i;
+                }
+            }
+            wins[podium[0]]++;
+            for (int p = 0; p < places; p++) {
+                podiums[podium[p]]++;
+            }
+        }
+
+        private void count(int competitor, int bucket, long n) {
+            long[] counts = timeCounts[competitor];
+            if (bucket >= counts.length) {
+                counts = timeCounts[competitor] = Arrays.copyOf(counts, Math.max(bucket + 1, counts.length * 2));
+            }
+            counts[bucket] += n;
+        }
+
+        Tally merge(Tally other) {
+            for (int i = 0; i < wins.length; i++) {
+                wins[i] += other.wins[i];
+                podiums[i] += other.podiums[i];
+                timeSum[i] += other.timeSum[i];
+                timeSquareSum[i] += other.timeSquareSum[i];
+                minTime[i] = Math.min(minTime[i], other.minTime[i]);
+                maxTime[i] = Math.max(maxTime[i], other.maxTime[i]);
+                long[] counts = other.timeCounts[i];
+                for (int t = counts.length - 1; t >= 0; t--) {
+                    if (counts[t] != 0) {
+                        count(i, t, counts[t]);
+                    }
+                }
+            }
+            return this;
+        }
+
+        SimulationResult toResult(Competition template, int replicas) {
+            for (int i = 0; i < timeCounts.length; i++) {
+                int length = timeCounts[i].length;
+                while (length > 0 && timeCounts[i][length - 1] == 0) {
+                    length--;
+                }
+                timeCounts[i] = Arrays.copyOf(timeCounts[i], length);
+            }
+            return new SimulationResult(template.getCompetitors(), replicas, wins, podiums, timeSum, timeSquareSum,
+                    minTime, maxTime, timeCounts);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package game.simulation;
+
+import game.competition.Competitor;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Outcome of a Monte Carlo run: per competitor win and podium probabilities and the distribution of finish times.
+ * Competitors are indexed by their row in the template competition.
+ * Finish times are measured in turns, interpolated inside the turn in which the finish line was crossed.
+ */
+public class SimulationResult {
+    private final List<Competitor> competitors;
+    private final int replicas;
+    private final long[] wins;
+    private final long[] podiums;
+    private final double[] timeSum;
+    private final double[] timeSquareSum;
+    private final double[] minTime;
+    private final double[] maxTime;
+    private final long[][] timeCounts;
+
+    SimulationResult(List<Competitor> competitors, int replicas, long[] wins, long[] podiums, double[] timeSum,
+                     double[] timeSquareSum, double[] minTime, double[] maxTime, long[][] timeCounts) {
+        this.competitors = competitors;
+        this.replicas = replicas;
+        this.wins = wins;
+        this.podiums = podiums;
+        this.timeSum = timeSum;
+        this.timeSquareSum = timeSquareSum;
+        this.minTime = minTime;
+        this.maxTime = maxTime;
+        this.timeCounts = timeCounts;
+    }
+
+    //region Getters
+    public int getReplicas() {
+        return replicas;
+    }
+
+    public int getCompetitorsCount() {
+        return competitors.size();
+    }
+
+    public Competitor getCompetitor(int index) {
+        return competitors.get(index);
+    }
+
+    public double getWinProbability(int index) {
+        return (double) wins[index] / replicas;
+    }
+
+    /**
+     * @return the probability of finishing in one of the first three places
+     */
+    public double getPodiumProbability(int index) {
+        return (double) podiums[index] / replicas;
+    }
+
+    public double getMeanFinishTime(int index) {
+        return timeSum[index] / replicas;
+    }
+
+    public double getFinishTimeStdDev(int index) {
+        double mean = getMeanFinishTime(index);
+        return Math.sqrt(Math.max(0, timeSquareSum[index] / replicas - mean * mean));
+    }
+
+    public double getMinFinishTime(int index) {
+        return minTime[index];
+    }
+
+    public double getMaxFinishTime(int index) {
+        return maxTime[index];
+    }
+
+    /**
+     * @return a histogram of finish times: element t counts the replicas in which the competitor finished
+     * during turn t+1, i.e. with a finish time in [t, t+1)
+     */
+    public long[] getFinishTimeCounts(int index) {
+        return Arrays.copyOf(timeCounts[index], timeCounts[index].length);
+    }
+    //endregion
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Simulation of " + replicas + " races:");
+        for (int i = 0; i < competitors.size(); i++) {
+            sb.append(System.lineSeparator())
+                    .append(competitors.get(i))
+                    .append(" win=").append(getWinProbability(i))
+                    .append(" podium=").append(getPodiumProbability(i))
+                    .append(" time=").append(getMeanFinishTime(i))
+                    .append("+/-").append(getFinishTimeStdDev(i));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,58 @@
+package game.trace;
+
+import java.nio.ByteOrder;
+
+/**
+ * Layout of a race trace file.
+ * a header holds the arena length and the lane number (y position) of every competitor, followed by one frame per recorded
+ * turn. a frame is one fixed size record per competitor, in row order:
+ * <pre>
+ *   int tick | byte state | byte finished | 2 bytes reserved | double x | double speed
+ * </pre>
+ * all values are little endian. readers map the data in chunks of whole frames, so a frame never spans two mappings.
+ */
+final class TraceFormat {
+    static final int MAGIC = 0x52545243; // "RTRC"
+    static final int VERSION = 2;
+    /** version 1 stored lanes as pixel positions, 75 apart */
+    static final int PIXEL_LANES_VERSION = 1;
+    static final double PIXEL_LANE_WIDTH = 75;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    //region Header offsets
+    static final int MAGIC_OFFSET = 0;
+    static final int VERSION_OFFSET = 4;
+    static final int COMPETITORS_OFFSET = 8;
+    static final int RECORD_SIZE_OFFSET = 12;
+    static final int FRAMES_OFFSET = 16;
+    static final int ARENA_LENGTH_OFFSET = 24;
+    static final int LANES_OFFSET = 32;
+    //endregion
+
+    //region Record offsets
+    static final int RECORD_SIZE = 24;
+    static final int TICK_OFFSET = 0;
+    static final int STATE_OFFSET = 4;
+    static final int FINISHED_OFFSET = 5;
+    static final int X_OFFSET = 8;
+    static final int SPEED_OFFSET = 16;
+    //endregion
+
+    /** size of the file regions mapped at once */
+    static final int CHUNK_BYTES = 16 << 20;
+
+    private TraceFormat() {
+    }
+
+    static long headerSize(int competitors) {
+        return LANES_OFFSET + 8L * competitors;
+    }
+
+    static int frameSize(int competitors) {
+        return competitors * RECORD_SIZE;
+    }
+
+    static int framesPerChunk(int competitors) {
+        return Math.max(1, CHUNK_BYTES / frameSize(competitors));
+    }
+}
@@ -0,0 +1,155 @@
+package game.trace;
+
+import game.competition.RaceSnapshot;
+import game.enums.CompetitorState;
+import utilities.ValidationUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Random access to the frames of a trace file written by {@link TraceRecorder}.
+ * the file is memory mapped, a region at a time as frames are asked for, so seeking anywhere costs the same.
+ */
+public class TraceReader implements Closeable {
+    private static final CompetitorState[] STATES = CompetitorState.values();
+
+    private final FileChannel channel;
+    private final int competitors;
+    private final int frames;
+    private final double arenaLength;
+    private final double[] lanes;
+    private final int frameSize;
+    private final int framesPerChunk;
+    private final long dataStart;
+    private final MappedByteBuffer[] chunks;
+
+    public TraceReader(Path path) throws IOException {
+        ValidationUtils.assertNotNull(path);
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (channel.size() < TraceFormat.LANES_OFFSET) {
+                throw new IOException(path + " is not a race trace");
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, TraceFormat.LANES_OFFSET);
+            header.order(TraceFormat.ORDER);
+            if (header.getInt(TraceFormat.MAGIC_OFFSET) != TraceFormat.MAGIC) {
+                throw new IOException(path + " is not a race trace");
+            }
+            int version = header.getInt(TraceFormat.VERSION_OFFSET);
+            if ((version != TraceFormat.VERSION && version != TraceFormat.PIXEL_LANES_VERSION) || header.getInt(TraceFormat.RECORD_SIZE_OFFSET) != TraceFormat.RECORD_SIZE) {
+                throw new IOException(path + " has unsupported trace version " + version);
+            }
+            competitors = header.getInt(TraceFormat.COMPETITORS_OFFSET);
+            frames = header.getInt(TraceFormat.FRAMES_OFFSET);
+            arenaLength = header.getDouble(TraceFormat.ARENA_LENGTH_OFFSET);
+            frameSize = TraceFormat.frameSize(competitors);
+            framesPerChunk = TraceFormat.framesPerChunk(competitors);
+            dataStart = TraceFormat.headerSize(competitors);
+            if (competitors <= 0 || frames < 0 || channel.size() < dataStart + (long) frames * frameSize) {
+                throw new IOException(path + " is truncated");
+            }
+            MappedByteBuffer laneBuffer = channel.map(FileChannel.MapMode.READ_ONLY, TraceFormat.LANES_OFFSET, 8L * competitors);
+            laneBuffer.order(TraceFormat.ORDER);
+            double laneWidth = version == TraceFormat.PIXEL_LANES_VERSION ? TraceFormat.PIXEL_LANE_WIDTH : 1;
+            lanes = new double[competitors];
+            for (int row = 0; row < competitors; row++) {
+                lanes[row] = laneBuffer.getDouble(8 * row) / laneWidth;
+            }
+            chunks = new MappedByteBuffer[(frames + framesPerChunk - 1) / framesPerChunk];
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    //region Getters
+    public int getCompetitorCount() {
+        return competitors;
+    }
+
+    public int getFrameCount() {
+        return frames;
+    }
+
+    public double getArenaLength() {
+        return arenaLength;
+    }
+
+    /**
+     * @return the lane number (y position) of the competitor on a row
+     */
+    public double getLane(int row) {
+        return lanes[row];
+    }
+    //endregion
+
+    /**
+     * @return the turn a frame was recorded at
+     */
+    public int getTick(int frame) throws IOException {
+        return chunkOf(frame).getInt(offsetOf(frame) + TraceFormat.TICK_OFFSET);
+    }
+
+    /**
+     * find the frame to show for a turn: the last one recorded at or before it, or the first frame
+     * if the turn is before the recording started
+     */
+    public int frameAt(int tick) throws IOException {
+        int low = 0;
+        int high = frames - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (getTick(middle) <= tick) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * fill a snapshot with a recorded frame
+     */
+    public void read(int frame, RaceSnapshot target) throws IOException {
+        ValidationUtils.assertNotNull(target);
+        MappedByteBuffer chunk = chunkOf(frame);
+        int offset = offsetOf(frame);
+        target.reset(chunk.getInt(offset + TraceFormat.TICK_OFFSET), competitors);
+        for (int row = 0; row < competitors; row++, offset += TraceFormat.RECORD_SIZE) {
+            target.setRow(row, chunk.getDouble(offset + TraceFormat.X_OFFSET), lanes[row],
+                    chunk.getDouble(offset + TraceFormat.SPEED_OFFSET), STATES[chunk.get(offset + TraceFormat.STATE_OFFSET)],
+                    chunk.get(offset + TraceFormat.FINISHED_OFFSET) != 0);
+        }
+    }
+
+    private MappedByteBuffer chunkOf(int frame) throws IOException {
+        if (frame < 0 || frame >= frames) {
+            throw new IndexOutOfBoundsException("frame " + frame + " of " + frames);
+        }
+        int index = frame / framesPerChunk;
+        MappedByteBuffer chunk = chunks[index];
+        if (chunk == null) {
+            long start = (long) index * framesPerChunk;
+            long count = Math.min(framesPerChunk, frames - start);
+            chunk = channel.map(FileChannel.MapMode.READ_ONLY, dataStart + start * frameSize, count * frameSize);
+            chunk.order(TraceFormat.ORDER);
+            chunks[index] = chunk;
+        }
+        return chunk;
+    }
+
+    private int offsetOf(int frame) {
+        return (frame % framesPerChunk) * frameSize;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
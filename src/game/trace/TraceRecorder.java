@@ -0,0 +1,202 @@
+package game.trace;
+
+import game.competition.Competition;
+import game.competition.RaceSnapshot;
+import utilities.ValidationUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Records a race to a trace file (see {@link TraceFormat}) that {@link TraceReader} can replay.
+ * recording a turn copies the competitors' state once, straight from the competition into a free buffer that is
+ * handed to a writer thread, so the recorder publishes nothing to other snapshot readers. the writer encodes each
+ * buffer into a single direct buffer and writes it at its place in the file. frames are written through the channel
+ * rather than into a mapping of the file, which would fault in every fresh page of the growing file one at a time;
+ * only the header is mapped. when the writer falls {@link #BUFFERED_FRAMES} frames behind, recording waits for it.
+ * the roster is fixed when recording starts, competitors added later are not recorded.
+ */
+public class TraceRecorder implements Closeable {
+    public static final int BUFFERED_FRAMES = 8;
+    private static final RaceSnapshot END = new RaceSnapshot(0);
+
+    private final Competition competition;
+    private final BlockingQueue<RaceSnapshot> free = new ArrayBlockingQueue<>(BUFFERED_FRAMES);
+    private final BlockingQueue<RaceSnapshot> pending = new ArrayBlockingQueue<>(BUFFERED_FRAMES + 1);
+    private final Thread writer;
+    private volatile IOException writeError;
+    private int recorded;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final int competitors;
+    private final int frameSize;
+    private final long dataStart;
+    /** the frame being written, owned by the writer once it started */
+    private final ByteBuffer frame;
+    private int frames;
+
+    /**
+     * create the trace file, replacing any existing one, and record the competition as it is now as the first frame
+     * @param path the trace file
+     * @param competition the competition to record, with all of its competitors added
+     */
+    public TraceRecorder(Path path, Competition competition) throws IOException {
+        ValidationUtils.assertNotNull(path);
+        ValidationUtils.assertNotNull(competition);
+        ValidationUtils.assertPositive(competition.getCompetitorCount());
+        this.competition = competition;
+        this.competitors = competition.getCompetitorCount();
+        this.frameSize = TraceFormat.frameSize(competitors);
+        this.dataStart = TraceFormat.headerSize(competitors);
+        this.frame = ByteBuffer.allocateDirect(frameSize).order(TraceFormat.ORDER);
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            RaceSnapshot snapshot = new RaceSnapshot(competitors);
+            competition.copySnapshot(snapshot);
+            header = channel.map(FileChannel.MapMode.READ_WRITE, 0, dataStart);
+            header.order(TraceFormat.ORDER);
+            header.putInt(TraceFormat.MAGIC_OFFSET, TraceFormat.MAGIC);
+            header.putInt(TraceFormat.VERSION_OFFSET, TraceFormat.VERSION);
+            header.putInt(TraceFormat.COMPETITORS_OFFSET, competitors);
+            header.putInt(TraceFormat.RECORD_SIZE_OFFSET, TraceFormat.RECORD_SIZE);
+            header.putInt(TraceFormat.FRAMES_OFFSET, 0);
+            header.putDouble(TraceFormat.ARENA_LENGTH_OFFSET, competition.getArena().getLength());
+            for (int row = 0; row < competitors; row++) {
+                header.putDouble(TraceFormat.LANES_OFFSET + 8 * row, snapshot.getY(row));
+            }
+            write(snapshot);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        recorded = 1;
+        for (int i = 0; i < BUFFERED_FRAMES; i++) {
+            free.add(new RaceSnapshot(competitors));
+        }
+        writer = new Thread(this::writeFrames, "trace-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * append the current state of the competition as a frame; call once per turn played, on the thread playing them
+     * @throws IOException if writing an earlier frame failed
+     */
+    public void record() throws IOException {
+        checkWriter();
+        RaceSnapshot snapshot = take(free);
+        competition.copySnapshot(snapshot);
+        put(snapshot);
+        recorded++;
+    }
+
+    /**
+     * @return the number of frames recorded so far, some of which may not be written yet
+     */
+    public int getFrameCount() {
+        return recorded;
+    }
+
+    /**
+     * write the recorded frames until {@link #END} is received, then stop
+     */
+    private void writeFrames() {
+        try {
+            while (true) {
+                RaceSnapshot snapshot = pending.take();
+                if (snapshot == END) {
+                    return;
+                }
+                write(snapshot);
+                free.add(snapshot);
+            }
+        } catch (IOException e) {
+            writeError = e;
+            pending.clear();
+            free.add(END); // wake a recorder waiting for a free buffer
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void checkWriter() throws IOException {
+        IOException error = writeError;
+        if (error != null) {
+            throw new IOException("writing the trace failed", error);
+        }
+    }
+
+    private RaceSnapshot take(BlockingQueue<RaceSnapshot> queue) throws IOException {
+        try {
+            RaceSnapshot snapshot = queue.take();
+            if (snapshot == END) {
+                checkWriter();
+            }
+            return snapshot;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while recording", e);
+        }
+    }
+
+    private void put(RaceSnapshot snapshot) throws IOException {
+        try {
+            pending.put(snapshot);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while recording", e);
+        }
+    }
+
+    private void write(RaceSnapshot snapshot) throws IOException {
+        int tick = snapshot.getTurn();
+        int offset = 0;
+        for (int row = 0; row < competitors; row++, offset += TraceFormat.RECORD_SIZE) {
+            frame.putInt(offset + TraceFormat.TICK_OFFSET, tick);
+            frame.put(offset + TraceFormat.STATE_OFFSET, (byte) snapshot.getState(row).ordinal());
+            frame.put(offset + TraceFormat.FINISHED_OFFSET, (byte) (snapshot.hasFinished(row) ? 1 : 0));
+            frame.putDouble(offset + TraceFormat.X_OFFSET, snapshot.getX(row));
+            frame.putDouble(offset + TraceFormat.SPEED_OFFSET, snapshot.getSpeed(row));
+        }
+        frame.clear();
+        long position = dataStart + (long) frames * frameSize;
+        while (frame.hasRemaining()) {
+            position += channel.write(frame, position);
+        }
+        frames++;
+        // the count is only raised once the frame is complete, so a trace cut short is still readable
+        header.putInt(TraceFormat.FRAMES_OFFSET, frames);
+    }
+
+    /**
+     * wait for the recorded frames to be written and write them back to the file
+     * @throws IOException if writing a frame failed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (writer.isAlive()) {
+                put(END);
+                try {
+                    writer.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("interrupted while closing the trace", e);
+                }
+            }
+            checkWriter();
+            channel.force(false);
+            header.force();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -5,17 +5,28 @@ Name:MosabShakar,ID:325103687
 package gui;
 
 import game.arena.WinterArena;
+import game.competition.RaceSnapshot;
 import game.competition.WinterCompetition;
+import game.enums.ExecutionMode;
 import game.entities.sportsman.WinterSportsman;
 import game.enums.*;
+import game.factory.FactoryRegistry;
+import game.trace.TraceReader;
 
 import javax.swing.*;
 import java.awt.*;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.io.IOException;
 import java.util.ArrayList;
-
-public class ArenaPanel extends JPanel implements Runnable {
+import java.util.Arrays;
+
+public class ArenaPanel extends JPanel {
+    private static final int SPRITE_SIZE = 70;
+    /** horizontal distance between the lanes competitors are drawn on */
+    private static final int LANE_PIXELS = 75;
+    /** backgrounds are scaled to this width at most and tiled across wider arenas */
+    private static final int BACKGROUND_TILE_WIDTH = 1000;
+    /** the most competitors whose lanes still fit in the width of a panel */
+    public static final int MAX_COMPETITORS = 1_000_000;
     private int arenaLength = 700;
     private int arenaWidth = 1000;
     private int maxCompetitors = 10;
@@ -26,7 +37,7 @@ public class ArenaPanel extends JPanel implements Runnable {
     private String league = null;
     private String gender = null;
     private int competitorsNumber = 0;
-    private ImageIcon[] competitorsImages = null;
+    private String[] competitorsImages = null;
     private static ArrayList<WinterSportsman> competitors;
     private WinterArena arena = null;
     private WinterCompetition winterCompetition = null;
@@ -34,48 +45,125 @@ public class ArenaPanel extends JPanel implements Runnable {
     private boolean competitionStarted = false;
     private boolean competitionFinished = false;
     private InfoTable infoTable = null;
-
+    private final transient SpriteCache sprites = new SpriteCache();
+    private transient Dimension backgroundSize = null;
+    private transient Rectangle[] paintedBounds = null;
+    private transient FrameScheduler frameScheduler = null;
+    private transient RaceSnapshot snapshot = null;
+    /** the competition the snapshot was asked from while a live race is shown, null otherwise */
+    private transient WinterCompetition snapshotSource = null;
+
+    /**
+     * size the panel to the arena and schedule a full repaint; when the arena was resized the backgrounds scaled
+     * to the old size are dropped and the new size is prepared in the background
+     */
     public void initArena() {
-
-        this.removeAll();
         setPreferredSize(new Dimension(arenaWidth, arenaLength + 80));
+        Dimension size = new Dimension(Math.min(arenaWidth, BACKGROUND_TILE_WIDTH), arenaLength + 80);
 
-        // Load the weather background image from the icons directory
-        ImageIcon imageIcon1 = loadImage("/icons/" + weather + ".jpg");
-        if (imageIcon1 != null) {
-            Image scaledImage1 = imageIcon1.getImage().getScaledInstance(arenaWidth, arenaLength + 80, Image.SCALE_DEFAULT);
-            JLabel picLabel1 = new JLabel(new ImageIcon(scaledImage1));
-            picLabel1.setLocation(0, 0);
-            picLabel1.setSize(arenaWidth, arenaLength + 80);
-            add(picLabel1);
-
-            // Add competitors' images to the panel
-            for (int i = 0; i < competitorsNumber; i++) {
-                JLabel picLabel2 = new JLabel(competitorsImages[i]);
-                picLabel2.setLocation((int) competitors.get(i).getLocation().getY() + 5, (int) competitors.get(i).getLocation().getX());
-                picLabel2.setSize(70, 70);
-                picLabel1.add(picLabel2);
-            }
-        } else {
-            System.err.println("Error: Image not found for weather: " + weather);
+        if (backgroundSize != null && !size.equals(backgroundSize)) {
+            sprites.evict(backgroundSize.width, backgroundSize.height);
+            sprites.preload(size.width, size.height, SPRITE_SIZE);
         }
+        backgroundSize = size;
+        paintedBounds = new Rectangle[competitorsNumber];
+        repaint();
     }
 
     public ArenaPanel() {
         setLayout(null);
+        setDoubleBuffered(true);
           if (weather == null) {
         weather = "Sunny";
     }
+        sprites.preload(arenaWidth, arenaLength + 80, SPRITE_SIZE);
         initArena();
     }
 
+    /**
+     * draw the background and the competitors directly, skipping lanes and sprites outside the area being repainted
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Rectangle clip = g.getClipBounds();
+        if (clip == null)
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        // The weather background image from the icons directory, repeated across arenas wider than a tile
+        Image background = sprites.get(SpriteCache.ICONS + weather + ".jpg", backgroundSize.width, backgroundSize.height);
+        for (int x = clip.x - clip.x % backgroundSize.width; x < clip.x + clip.width; x += backgroundSize.width) {
+            g.drawImage(background, x, 0, null);
+        }
+        int first = Math.max(0, (clip.x - 5 - SPRITE_SIZE) / LANE_PIXELS);
+        int last = Math.min(competitorsNumber, (clip.x + clip.width) / LANE_PIXELS + 1);
+        for (int i = first; i < last; i++) {
+            Rectangle bounds = spriteBounds(i);
+            if (clip.intersects(bounds)) {
+                g.drawImage(sprites.get(competitorsImages[i], SPRITE_SIZE, SPRITE_SIZE), bounds.x, bounds.y, null);
+            }
+        }
+    }
+
+    /**
+     * repaint only the area around visible competitors that moved since the last call: where they were and where
+     * they are. lanes scrolled out of view are painted in full when they come back
+     */
+    public void repaintMoved() {
+        Rectangle visible = getVisibleRect();
+        int first = Math.max(0, (visible.x - 5 - SPRITE_SIZE) / LANE_PIXELS);
+        int last = Math.min(competitorsNumber, (visible.x + visible.width) / LANE_PIXELS + 1);
+        for (int i = first; i < last; i++) {
+            Rectangle bounds = spriteBounds(i);
+            Rectangle painted = paintedBounds[i];
+            if (!bounds.equals(painted)) {
+                repaint(painted == null ? bounds : painted.union(bounds));
+                paintedBounds[i] = bounds;
+            }
+        }
+    }
+
+    /**
+     * publish the state the competitors reached since the last frame and repaint what moved
+     */
+    private void renderFrame() {
+        winterCompetition.publishSnapshot();
+        winterCompetition.readSnapshot(snapshot);
+        repaintMoved();
+    }
+
+    /**
+     * show a state of the race that does not come from the live competition, such as a recorded one
+     */
+    void showSnapshot(RaceSnapshot snapshot) {
+        this.snapshot = snapshot;
+        repaintMoved();
+    }
+
+    /**
+     * competitors race down the panel: the x position on the track is the vertical axis and lanes are side by side.
+     * positions are read from the last snapshot, competitor i being on row i and lane i of the competition;
+     * before the race there is no snapshot and every competitor is on the start line of its lane
+     */
+    private Rectangle spriteBounds(int i) {
+        if (snapshot == null)
+            return new Rectangle(i * LANE_PIXELS + 5, 0, SPRITE_SIZE, SPRITE_SIZE);
+        return new Rectangle((int) snapshot.getY(i) * LANE_PIXELS + 5, (int) snapshot.getX(i), SPRITE_SIZE, SPRITE_SIZE);
+    }
+
     public void buildArena(String surface, String weather) {
         this.surface = surface;
         this.weather = weather;
 
         competitors = new ArrayList<>();
-        competitorsImages = new ImageIcon[maxCompetitors];
+        competitorsImages = new String[maxCompetitors];
+        competitorsNumber = 0;
+        if (frameScheduler != null) {
+            frameScheduler.stop();
+            frameScheduler = null;
+        }
+        releaseSnapshot();
         winterCompetition = null;
+        snapshot = null;
         competition = null;
         maxCompetitors = 10;
         this.arenaWidth = 1000;
@@ -101,16 +189,23 @@ public class ArenaPanel extends JPanel implements Runnable {
         competitionFrame.updateFrame();
     }
 
-    public void createCompetition(String competition, String discipline, String league, String gender) throws ClassNotFoundException, NoSuchMethodException, SecurityException, InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException {
+    /**
+     * @throws IllegalArgumentException if there is no factory for the competition type
+     */
+    public void createCompetition(String competition, String discipline, String league, String gender) {
         this.competition = competition;
         this.discipline = discipline;
         this.league = league;
         this.gender = gender;
 
+        if (frameScheduler != null) {
+            frameScheduler.stop();
+            frameScheduler = null;
+        }
         competitionStarted = competitionFinished = false;
         competitorsNumber = 0;
 
-        int newWidth = (maxCompetitors) * 75 + 5;
+        int newWidth = (maxCompetitors) * LANE_PIXELS + 5;
 
         if (newWidth > 1000)
             this.arenaWidth = newWidth;
@@ -118,7 +213,7 @@ public class ArenaPanel extends JPanel implements Runnable {
             this.arenaWidth = 1000;
 
         competitors = new ArrayList<>();
-        competitorsImages = new ImageIcon[maxCompetitors];
+        competitorsImages = new String[maxCompetitors];
 
         Discipline disc;
         League leag;
@@ -145,60 +240,119 @@ public class ArenaPanel extends JPanel implements Runnable {
         else
             gen = Gender.FEMALE;
 
-        ClassLoader cl = ClassLoader.getSystemClassLoader();
-        Class<?> c = cl.loadClass("game.competition." + competition + "Competition");
-        Constructor<?> con = c.getConstructor(WinterArena.class, int.class, Discipline.class, League.class, Gender.class);
-
-        winterCompetition = (WinterCompetition) con.newInstance(arena, maxCompetitors, disc, leag, gen);
+        releaseSnapshot();
+        winterCompetition = FactoryRegistry.getInstance().getCompetitionFactory(competition).create(arena, maxCompetitors, disc, leag, gen);
+        snapshot = null;
 
         competitionFrame.updateFrame();
     }
 
-    public void addCompetitor(String name, double age, double maxSpeed, double acceleration) throws ClassNotFoundException, NoSuchMethodException, SecurityException, InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException {
-        WinterSportsman ws = null;
-
-        ClassLoader cl = ClassLoader.getSystemClassLoader();
-        Class<?> c = cl.loadClass("game.entities.sportsman." + competition + "er");
-        Constructor<?> con = c.getConstructor(String.class, double.class, Gender.class, double.class, double.class, Discipline.class);
-
-        ws = (WinterSportsman) con.newInstance(name, age, winterCompetition.getGender(), acceleration, maxSpeed, winterCompetition.getDiscipline());
+    /**
+     * add a competitor on the next lane and paint just that lane; the panel was sized for the whole field when the
+     * competition was created, so the frame is not laid out again
+     * @throws IllegalArgumentException if there is no factory for the competitors of the competition type
+     */
+    public void addCompetitor(String name, double age, double maxSpeed, double acceleration) {
+        WinterSportsman ws = FactoryRegistry.getInstance().getCompetitorFactory(competition)
+                .create(name, age, winterCompetition.getGender(), acceleration, maxSpeed, winterCompetition.getDiscipline());
 
         try {
             winterCompetition.addCompetitor(ws);
         } catch (IllegalArgumentException e) {
             JOptionPane.showMessageDialog(this, "Competitor does not fit to competition! Choose another competitor.");
             return;
+        } catch (IllegalStateException e) {
+            JOptionPane.showMessageDialog(this, "Competition is full! No more competitors can be added.");
+            return;
         }
         competitors.add(ws);
 
-        // Load the competitor's image from the icons directory
-        String imagePath = "/icons/" + competition + gender + ".png";
-        ImageIcon icon = loadImage(imagePath);
-        if (icon != null) {
-            competitorsImages[competitorsNumber] = new ImageIcon(icon.getImage().getScaledInstance(70, 70, Image.SCALE_DEFAULT));
+        // The competitor's image from the icons directory, already decoded and scaled by the sprite cache
+        String imagePath = SpriteCache.ICONS + competition + gender + ".png";
+        if (sprites.get(imagePath, SPRITE_SIZE, SPRITE_SIZE) != null) {
+            competitorsImages[competitorsNumber] = imagePath;
             competitorsNumber++;
-            competitionFrame.updateFrame();
+            if (competitorsNumber > paintedBounds.length) {
+                // grown with the field rather than sized for the most competitors the competition could take
+                paintedBounds = Arrays.copyOf(paintedBounds, Math.max(16, 2 * paintedBounds.length));
+            }
+            repaint(spriteBounds(competitorsNumber - 1));
         } else {
             System.err.println("Error: Image not found for competitor: " + competition + gender);
         }
     }
 
+    /**
+     * run the competitors on virtual threads, so a field of any size the panel accepts does not take an OS thread
+     * per competitor, and start reading snapshots of the race for every frame
+     */
     public void startRace() {
         competitionStarted = true;
-
+        releaseSnapshot();
+        snapshot = winterCompetition.newSnapshot();
+        snapshotSource = winterCompetition;
+        winterCompetition.readSnapshot(snapshot);
+
+        frameScheduler = new FrameScheduler(winterCompetition.getEventBus(), this::renderFrame);
+        frameScheduler.start(winterCompetition::hasActiveCompetitors, () -> {
+            competitionFinished = true;
+            releaseSnapshot(); // the last frame was rendered, the panel keeps showing it from its own copy
+        });
         try {
-            new Thread(this).start();
-            winterCompetition.startCompetition();
+            winterCompetition.startCompetition(ExecutionMode.VIRTUAL_THREADS);
         } catch (InterruptedException ex) {
             ex.printStackTrace();
         }
     }
 
+    /**
+     * show a recorded race in place of the live one; competitors are drawn with the sprite of the last chosen
+     * competition and gender, or as male skiers if none was chosen
+     * @return the source driving the panel, showing the first recorded frame and paused
+     */
+    public ReplaySource replay(TraceReader trace) throws IOException {
+        if (frameScheduler != null) {
+            frameScheduler.stop();
+            frameScheduler = null;
+        }
+        releaseSnapshot();
+        int count = trace.getCompetitorCount();
+        maxCompetitors = count;
+        competitorsNumber = count;
+        competitionStarted = competitionFinished = true;
+        arenaLength = (int) trace.getArenaLength();
+        arenaWidth = Math.max(1000, count * LANE_PIXELS + 5);
+        competitorsImages = new String[count];
+        Arrays.fill(competitorsImages, SpriteCache.ICONS + (competition == null ? "Ski" : competition) + (gender == null ? "Male" : gender) + ".png");
+        snapshot = new RaceSnapshot(count);
+
+        if (competitionFrame != null)
+            competitionFrame.updateFrame();
+        else
+            initArena();
+        return new ReplaySource(trace, this);
+    }
+
+    /**
+     * give the snapshot of a live race back to its competition, so the competition stops publishing snapshots once
+     * nothing reads them; the panel keeps the snapshot itself to paint from
+     */
+    private void releaseSnapshot() {
+        if (snapshotSource != null) {
+            snapshotSource.releaseSnapshot(snapshot);
+            snapshotSource = null;
+        }
+    }
+
     public void showInfo() {
+        if (infoTable != null && infoTable.shows(winterCompetition)) {
+            infoTable.toFront();
+            return;
+        }
         if (infoTable != null)
             infoTable.dispose();
 
-        infoTable = new InfoTable(winterCompetition, competitorsNumber);
+        infoTable = new InfoTable(winterCompetition);
     }
 
     public void setArenaLength(int arenaLength) {
@@ -273,29 +427,4 @@ public class ArenaPanel extends JPanel implements Runnable {
         return competition;
     }
 
-    @Override
-    public void run() {
-        while (winterCompetition.hasActiveCompetitors()) {
-            try {
-                Thread.sleep(30);
-            } catch (InterruptedException ex) {
-                ex.printStackTrace();
-            }
-            try {
-                competitionFrame.updateFrame();
-            } catch (Exception e) {
-            }
-        }
-        competitionFrame.updateFrame();
-        competitionFinished = true;
-    }
-
-
-    private ImageIcon loadImage(String path) {
-        try {
-            return new ImageIcon(getClass().getResource(path));
-        } catch (Exception e) {
-            return null;
-        }
-    }
 }
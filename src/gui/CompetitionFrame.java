@@ -9,6 +9,7 @@ import java.awt.BorderLayout;
 import java.awt.Dimension;
 import java.awt.Toolkit;
 import javax.swing.JPanel;
+import javax.swing.JScrollPane;
 import javax.swing.JSeparator;
 import javax.swing.SwingConstants;
 
@@ -34,7 +35,13 @@ public final class CompetitionFrame extends JFrame {
             arenaPanel.setCompetitionFrame(this);
         }
         else arenaPanel.initArena();
-        mainPanel.add(arenaPanel,BorderLayout.WEST);
+        // wide fields scroll sideways rather than stretching the window past the screen
+        JScrollPane arenaScroll = new JScrollPane(arenaPanel);
+        Dimension screen = Toolkit.getDefaultToolkit().getScreenSize();
+        Dimension arenaSize = arenaPanel.getPreferredSize();
+        arenaScroll.setPreferredSize(new Dimension(Math.min(arenaSize.width, screen.width * 3 / 4) + 3, arenaSize.height + 20));
+        arenaScroll.getHorizontalScrollBar().setUnitIncrement(75);
+        mainPanel.add(arenaScroll,BorderLayout.WEST);
         mainPanel.add(new JSeparator(SwingConstants.VERTICAL),BorderLayout.CENTER);
         mainPanel.add(new ControlsPanel(arenaPanel),BorderLayout.EAST);
         return mainPanel;
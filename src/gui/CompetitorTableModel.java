@@ -0,0 +1,176 @@
+package gui;
+
+import game.competition.Competition;
+import game.competition.RaceSnapshot;
+import game.competition.RankingIndex;
+import game.entities.sportsman.Sportsman;
+import utilities.ValidationUtils;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.Arrays;
+
+/**
+ * A live view of a competition's competitors in standings order, leader first: table row r shows the competitor
+ * ranked r+1 by a {@link RankingIndex} kept up to date with the competition's snapshots, so the order is read
+ * from the index and the table never sorts.
+ * {@link #refresh()} reads the competition's last published {@link RaceSnapshot} and fires a single update event
+ * covering the table rows that changed since the previous refresh; between refreshes the table reads the snapshot
+ * it was last told about, so painting never touches the running race.
+ * the competition publishes snapshots for as long as the model reads them, until {@link #release()}.
+ */
+public final class CompetitorTableModel extends AbstractTableModel {
+    private static final long serialVersionUID = 1L;
+
+    public static final int RANK = 0, NAME = 1, SPEED = 2, MAX_SPEED = 3, LOCATION = 4, FINISHED = 5;
+    private static final String[] COLUMN_NAMES = {"Rank", "Name", "Speed", "Max speed", "Location", "Finished"};
+    private static final Class<?>[] COLUMN_CLASSES = {Integer.class, String.class, Double.class, Double.class, Double.class, String.class};
+
+    private final transient Competition competition;
+    private transient RaceSnapshot shown;
+    private transient RaceSnapshot latest;
+    private final transient RankingIndex ranking;
+    private int rowCount = 0;
+    private String[] names = new String[0];
+    private double[] maxSpeed = new double[0];
+    /** the row shown on every table row as of the last refresh */
+    private int[] shownRows = new int[0];
+
+    public CompetitorTableModel(Competition competition) {
+        ValidationUtils.assertNotNull(competition);
+        this.competition = competition;
+        this.shown = competition.newSnapshot();
+        this.latest = competition.newSnapshot();
+        this.ranking = new RankingIndex();
+        refresh();
+    }
+
+    public Competition getCompetition() {
+        return competition;
+    }
+
+    /**
+     * @return the standings as of the last refresh
+     */
+    public RankingIndex getRanking() {
+        return ranking;
+    }
+
+    /**
+     * @return the store row of the competitor shown on a table row
+     */
+    public int getCompetitorRow(int tableRow) {
+        return ranking.getRow(tableRow + 1);
+    }
+
+    /**
+     * read the competition's last snapshot and re-rank it, then notify the table once: of every row when
+     * competitors were added, otherwise of the range from the first to the last table row that changed
+     */
+    public void refresh() {
+        if (shown == null) {
+            return;
+        }
+        competition.readSnapshot(latest);
+        RaceSnapshot previous = shown;
+        shown = latest;
+        latest = previous;
+        ranking.update(shown);
+
+        int count = shown.size();
+        if (count != rowCount) {
+            if (count > names.length) {
+                int capacity = Math.max(count, names.length * 2);
+                names = Arrays.copyOf(names, capacity);
+                maxSpeed = Arrays.copyOf(maxSpeed, capacity);
+                shownRows = Arrays.copyOf(shownRows, capacity);
+            }
+            for (int row = rowCount; row < count; row++) {
+                names[row] = ((Sportsman) competition.getCompetitor(row)).getName();
+                maxSpeed[row] = competition.getCompetitor(row).getMaxSpeed();
+            }
+            for (int tableRow = 0; tableRow < count; tableRow++) {
+                shownRows[tableRow] = getCompetitorRow(tableRow);
+            }
+            rowCount = count;
+            fireTableDataChanged();
+            return;
+        }
+
+        int first = -1, last = -1;
+        for (int tableRow = 0; tableRow < count; tableRow++) {
+            int row = getCompetitorRow(tableRow);
+            if (row != shownRows[tableRow] || changed(previous, row)) {
+                shownRows[tableRow] = row;
+                if (first < 0)
+                    first = tableRow;
+                last = tableRow;
+            }
+        }
+        if (first >= 0)
+            fireTableRowsUpdated(first, last);
+    }
+
+    /**
+     * @return whether any value shown for this row differs from the previous snapshot
+     */
+    private boolean changed(RaceSnapshot previous, int row) {
+        return shown.getSpeed(row) != previous.getSpeed(row)
+                || shown.getX(row) != previous.getX(row)
+                || shown.hasFinished(row) != previous.hasFinished(row);
+    }
+
+    /**
+     * stop reading the competition's snapshots, so it no longer publishes them for this model;
+     * later refreshes do nothing
+     */
+    public void release() {
+        if (shown == null) {
+            return;
+        }
+        competition.releaseSnapshot(shown);
+        competition.releaseSnapshot(latest);
+        shown = null;
+        latest = null;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return COLUMN_CLASSES[column];
+    }
+
+    @Override
+    public Object getValueAt(int tableRow, int column) {
+        int row = shownRows[tableRow];
+        switch (column) {
+            case RANK:
+                return tableRow + 1;
+            case NAME:
+                return names[row];
+            case SPEED:
+                return shown.getSpeed(row);
+            case MAX_SPEED:
+                return maxSpeed[row];
+            case LOCATION:
+                return shown.getX(row);
+            case FINISHED:
+                return shown.hasFinished(row) ? "Yes" : "No";
+            default:
+                throw new IndexOutOfBoundsException("column " + column);
+        }
+    }
+}
@@ -7,7 +7,6 @@ package gui;
 import java.awt.Dimension;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.lang.reflect.InvocationTargetException;
 
 import javax.swing.JButton;
 import javax.swing.JComboBox;
@@ -363,7 +362,7 @@ public class ControlsPanel extends JPanel implements ActionListener{
                     try{
                         maxCompetitors = Integer.parseInt(tfMaxCompetitors.getText());
                         arenaPanel.setMaxCompetitors(maxCompetitors);
-                        if (maxCompetitors<=0 || maxCompetitors > 20) throw new Exception();
+                        if (maxCompetitors<=0 || maxCompetitors > ArenaPanel.MAX_COMPETITORS) throw new Exception();
                     } catch (Exception ex){
                         JOptionPane.showMessageDialog(arenaPanel, "Invalid input values! Please try again.");
                         return;
@@ -372,7 +371,7 @@ public class ControlsPanel extends JPanel implements ActionListener{
 					try {
 						arenaPanel.createCompetition((String)cmbCompetition.getSelectedItem(),(String)cmbDiscipline.getSelectedItem(),
 								(String)cmbLeague.getSelectedItem(),(String)cmbGender.getSelectedItem());
-					} catch (ClassNotFoundException | NoSuchMethodException | SecurityException | InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e1) {
+					} catch (IllegalArgumentException e1) {
 
 						e1.printStackTrace();
 					}
@@ -418,26 +417,8 @@ public class ControlsPanel extends JPanel implements ActionListener{
 
 					try {
 						arenaPanel.addCompetitor(name, age, maxSpeed, acceleration);
-					} catch (ClassNotFoundException e1) {
-
-						e1.printStackTrace();
-					} catch (NoSuchMethodException e1) {
-
-						e1.printStackTrace();
-					} catch (SecurityException e1) {
-
-						e1.printStackTrace();
-					} catch (InstantiationException e1) {
-
-						e1.printStackTrace();
-					} catch (IllegalAccessException e1) {
-
-						e1.printStackTrace();
 					} catch (IllegalArgumentException e1) {
 
-						e1.printStackTrace();
-					} catch (InvocationTargetException e1) {
-
 						e1.printStackTrace();
 					}
                     break;
@@ -0,0 +1,109 @@
+package gui;
+
+import game.events.EventBus;
+import game.events.Finished;
+import game.events.PositionChanged;
+import game.events.StateChanged;
+import game.metrics.EngineMetrics;
+import utilities.ValidationUtils;
+
+import javax.swing.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Paces rendering of a running race on the Event Dispatch Thread.
+ * Once per display frame it delivers the events queued on the competition bus; any number of position, finish
+ * or state changes since the previous frame result in at most one render, and frames with no change render nothing.
+ */
+public final class FrameScheduler {
+    public static final int FRAME_MILLIS = 16;
+    private static final long FRAME_NANOS = TimeUnit.MILLISECONDS.toNanos(FRAME_MILLIS);
+
+    private final EventBus bus;
+    private final Runnable render;
+    private final Timer timer;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final EventBus.Subscription<?>[] subscriptions = new EventBus.Subscription<?>[3];
+    private BooleanSupplier running;
+    private Runnable onFinished;
+    private long lastFrameNanos;
+
+    /**
+     * @param bus the bus the simulation publishes its changes on
+     * @param render draws the current state of the race, always called on the Event Dispatch Thread
+     */
+    public FrameScheduler(EventBus bus, Runnable render) {
+        ValidationUtils.assertNotNull(bus);
+        ValidationUtils.assertNotNull(render);
+        this.bus = bus;
+        this.render = render;
+        this.timer = new Timer(FRAME_MILLIS, e -> frame());
+        this.timer.setCoalesce(true);
+    }
+
+    /**
+     * start rendering frames until the race ends
+     * @param running tells whether the race is still going, checked every frame
+     * @param onFinished called on the Event Dispatch Thread after the last frame was rendered
+     */
+    public void start(BooleanSupplier running, Runnable onFinished) {
+        ValidationUtils.assertNotNull(running);
+        ValidationUtils.assertNotNull(onFinished);
+        this.running = running;
+        this.onFinished = onFinished;
+        subscriptions[0] = bus.subscribe(PositionChanged.class, events -> requestFrame());
+        subscriptions[1] = bus.subscribe(Finished.class, events -> requestFrame());
+        subscriptions[2] = bus.subscribe(StateChanged.class, events -> requestFrame());
+        lastFrameNanos = System.nanoTime();
+        timer.start();
+    }
+
+    /**
+     * stop rendering frames, without calling the finish callback
+     */
+    public void stop() {
+        timer.stop();
+        for (int i = 0; i < subscriptions.length; i++) {
+            if (subscriptions[i] != null) {
+                bus.unsubscribe(subscriptions[i]);
+                subscriptions[i] = null;
+            }
+        }
+    }
+
+    /**
+     * ask for the next frame to be rendered; may be called from any thread, any number of times per frame
+     */
+    public void requestFrame() {
+        dirty.set(true);
+    }
+
+    public boolean isRunning() {
+        return timer.isRunning();
+    }
+
+    /**
+     * frames that were due while the Event Dispatch Thread was busy are coalesced by the timer, and counted as dropped
+     */
+    private void frame() {
+        EngineMetrics metrics = EngineMetrics.getInstance();
+        long start = System.nanoTime();
+        long dropped = (start - lastFrameNanos) / FRAME_NANOS - 1;
+        if (dropped > 0) {
+            metrics.recordDroppedFrames(dropped);
+        }
+        lastFrameNanos = start;
+        bus.flush();
+        boolean finished = !running.getAsBoolean();
+        if (dirty.getAndSet(false) || finished) {
+            render.run();
+            metrics.recordFrame(System.nanoTime() - start);
+        }
+        if (finished) {
+            stop();
+            onFinished.run();
+        }
+    }
+}
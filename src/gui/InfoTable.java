@@ -1,4 +1,3 @@
-
 package gui;
 
 
@@ -6,54 +5,56 @@ import javax.swing.JFrame;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
+import javax.swing.Timer;
 
 import game.competition.Competition;
-import game.competition.Competitor;
-import game.entities.sportsman.Sportsman;
 
 
+/**
+ * A window showing the competitors' live rank, speed and location, leaders first.
+ * The table refreshes a few times per second while the window is open, in the order of the model's ranking index.
+ * while it is open the competition publishes a snapshot of every competitor on every turn, a copy of the whole
+ * field on the thread playing the race; disposing the window stops both.
+ */
 public class InfoTable extends JFrame{
-    
-    public InfoTable(Competition competition, int racersNumber){
+    public static final int REFRESH_MILLIS = 250;
+
+    private final CompetitorTableModel model;
+    private final Timer refreshTimer;
+
+    public InfoTable(Competition competition){
         super("Competitors information");
-        String[] columnNames = {"Name",
-                             "Speed",
-                             "Max speed",
-                             "Location",
-                             "Finished"};
-        
-        String[][] data = new String[racersNumber][5];
-        int i=0;
-     
-        for (Competitor c: competition.getFinishedCompetitors()){
-            data[i][0] = ((Sportsman) c).getName();
-            data[i][1] = ""+c.getSpeed();
-            data[i][2] = ""+c.getMaxSpeed();
-            data[i][3] = ""+c.getLocation().getX();
-            data[i][4] = "Yes";
-            i++;
-        }
-                    
-        for (Competitor c: competition.getActiveCompetitors()){
-            data[i][0] = ((Sportsman) c).getName();
-            data[i][1] = ""+c.getSpeed();
-            data[i][2] = ""+c.getMaxSpeed();
-            data[i][3] = ""+c.getLocation().getX();
-            data[i][4] = "No";
-            i++;
-        }
-                    
-        JTable table = new JTable(data, columnNames);
+        model = new CompetitorTableModel(competition);
+
+        JTable table = new JTable(model);
         table.setPreferredScrollableViewportSize(table.getPreferredSize());
         JScrollPane scrollPane = new JScrollPane(table);
 
         JPanel tabPan = new JPanel();
-        tabPan.add(scrollPane);                   
+        tabPan.add(scrollPane);
+
+        refreshTimer = new Timer(REFRESH_MILLIS, e -> model.refresh());
+        refreshTimer.setCoalesce(true);
+        refreshTimer.start();
 
         setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
         setContentPane(tabPan);
         pack();
-        setVisible(true); 
+        setVisible(true);
+    }
+
+    /**
+     * @return whether this window shows the given competition
+     */
+    public boolean shows(Competition competition) {
+        return isDisplayable() && model.getCompetition() == competition;
+    }
+
+    @Override
+    public void dispose() {
+        refreshTimer.stop();
+        model.release();
+        super.dispose();
     }
     
 }
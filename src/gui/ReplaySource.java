@@ -0,0 +1,118 @@
+package gui;
+
+import game.competition.RaceSnapshot;
+import game.trace.TraceReader;
+import utilities.ValidationUtils;
+
+import javax.swing.Timer;
+import java.io.IOException;
+
+/**
+ * Plays a recorded race back on an {@link ArenaPanel}, at any speed and from any turn.
+ * playback is paced by a Swing timer, so the panel is only updated on the Event Dispatch Thread, and a frame is
+ * only read from the trace when the turn to show moved to another one.
+ */
+public class ReplaySource {
+    /** turns shown per second at normal speed, the pace of a live race where competitors move every 100 ms */
+    public static final double TURNS_PER_SECOND = 10;
+
+    private final TraceReader trace;
+    private final ArenaPanel panel;
+    private final RaceSnapshot snapshot;
+    private final Timer timer;
+    private final int firstTick;
+    private final int lastTick;
+    private double speed = 1;
+    private double tick;
+    private long lastFrameNanos;
+    private int shownFrame = -1;
+
+    /**
+     * show the first recorded frame on the panel, paused
+     */
+    ReplaySource(TraceReader trace, ArenaPanel panel) throws IOException {
+        ValidationUtils.assertNotNull(trace);
+        ValidationUtils.assertNotNull(panel);
+        this.trace = trace;
+        this.panel = panel;
+        this.snapshot = new RaceSnapshot(trace.getCompetitorCount());
+        this.firstTick = trace.getTick(0);
+        this.lastTick = trace.getTick(trace.getFrameCount() - 1);
+        this.timer = new Timer(FrameScheduler.FRAME_MILLIS, e -> frame());
+        this.timer.setCoalesce(true);
+        seek(firstTick);
+    }
+
+    public void play() {
+        if (!timer.isRunning()) {
+            if (tick >= lastTick)
+                tick = firstTick;
+            lastFrameNanos = System.nanoTime();
+            timer.start();
+        }
+    }
+
+    public void pause() {
+        timer.stop();
+    }
+
+    public boolean isPlaying() {
+        return timer.isRunning();
+    }
+
+    /**
+     * @param speed how many times faster than a live race to play, below 1 for slow motion
+     */
+    public void setSpeed(double speed) {
+        ValidationUtils.assertPositive(speed);
+        this.speed = speed;
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    /**
+     * jump to a turn, showing the last frame recorded at or before it; playback goes on from there if playing
+     */
+    public void seek(int tick) throws IOException {
+        this.tick = Math.max(firstTick, Math.min(lastTick, tick));
+        show(trace.frameAt((int) this.tick));
+    }
+
+    public int getTick() {
+        return (int) tick;
+    }
+
+    public int getFirstTick() {
+        return firstTick;
+    }
+
+    public int getLastTick() {
+        return lastTick;
+    }
+
+    private void frame() {
+        long now = System.nanoTime();
+        tick += (now - lastFrameNanos) / 1e9 * TURNS_PER_SECOND * speed;
+        lastFrameNanos = now;
+        if (tick >= lastTick) {
+            tick = lastTick;
+            pause();
+        }
+        try {
+            show(trace.frameAt((int) tick));
+        } catch (IOException ex) {
+            pause();
+            ex.printStackTrace();
+        }
+    }
+
+    private void show(int frame) throws IOException {
+        if (frame != shownFrame) {
+            trace.read(frame, snapshot);
+            shownFrame = frame;
+            panel.showSnapshot(snapshot);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package gui;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Images of the {@code /icons} resources, decoded once and kept scaled to every size they are drawn at,
+ * in a format that can be drawn to the screen without conversion.
+ * Safe to use from several threads; an image requested while it is being prepared is waited for, not built twice.
+ */
+public class SpriteCache {
+    public static final String ICONS = "/icons/";
+    private static final String[] BACKGROUNDS = {"Sunny.jpg", "Cloudy.jpg", "Stormy.jpg"};
+    private static final String[] SPRITES = {"SkiMale.png", "SkiFemale.png", "SnowboardMale.png", "SnowboardFemale.png"};
+
+    private final Map<String, BufferedImage> decoded = new ConcurrentHashMap<>();
+    private final Map<Key, BufferedImage> scaled = new ConcurrentHashMap<>();
+
+    private record Key(String resource, int width, int height) {
+    }
+
+    /**
+     * @param resource the classpath resource of the image
+     * @param width the width to draw the image at
+     * @param height the height to draw the image at
+     * @return the image at the requested size, or null if the resource does not exist
+     */
+    public BufferedImage get(String resource, int width, int height) {
+        return scaled.computeIfAbsent(new Key(resource, width, height), this::scale);
+    }
+
+    /**
+     * decode every icon and scale the backgrounds and competitor sprites to the given sizes on a background thread
+     */
+    public void preload(int backgroundWidth, int backgroundHeight, int spriteSize) {
+        Thread loader = new Thread(() -> {
+            for (String background : BACKGROUNDS) {
+                get(ICONS + background, backgroundWidth, backgroundHeight);
+            }
+            for (String sprite : SPRITES) {
+                get(ICONS + sprite, spriteSize, spriteSize);
+            }
+        }, "sprite-preload");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * drop every image scaled to the given size, e.g. the backgrounds of an arena that was resized
+     */
+    public void evict(int width, int height) {
+        scaled.keySet().removeIf(key -> key.width() == width && key.height() == height);
+    }
+
+    private BufferedImage scale(Key key) {
+        BufferedImage source = decoded.computeIfAbsent(key.resource(), SpriteCache::decode);
+        if (source == null) {
+            return null;
+        }
+        BufferedImage image = createCompatibleImage(key.width(), key.height());
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(source, 0, 0, key.width(), key.height(), null);
+        g.dispose();
+        return image;
+    }
+
+    private static BufferedImage decode(String resource) {
+        try (InputStream in = SpriteCache.class.getResourceAsStream(resource)) {
+            return in == null ? null : ImageIO.read(in);
+        } catch (IOException e) {
+            System.err.println("Error: can not read image " + resource);
+            return null;
+        }
+    }
+
+    private static BufferedImage createCompatibleImage(int width, int height) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()
+                .createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
+}
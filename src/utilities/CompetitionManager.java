@@ -5,18 +5,17 @@ Name:MosabKhalaf,ID:325103687
 package utilities;
 
 import game.enums.*;
+import game.arena.IArena;
 import game.arena.WinterArena;
+import game.competition.Competition;
 import game.competition.SkiCompetition;
 import game.entities.sportsman.Skier;
 import game.entities.sportsman.WinterSportsman;
+import game.factory.FactoryRegistry;
+import game.orchestration.CompetitionOrchestrator;
 
 import java.awt.Color;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Observable;
-import java.util.Observer;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface for the Prototype design pattern.
@@ -27,20 +26,17 @@ interface Prototype {
 
 /**
  * Singleton class to manage the competition.
- * Implements Observer to update the GUI and Prototype for cloning.
+ * Implements Prototype for cloning.
  */
-public class CompetitionManager implements Observer, Prototype {
+public class CompetitionManager implements Prototype {
 
     private static CompetitionManager instance = null;
     private WinterArena arena;
-    private List<WinterSportsman> competitors;
-    private ExecutorService executorService;
-    private int threadPoolSize;
     private CompetitorState currentState;
+    private CompetitionOrchestrator orchestrator;
 
 
     private CompetitionManager() {
-        competitors = new ArrayList<>();
     }
 
 
@@ -67,21 +63,38 @@ public class CompetitionManager implements Observer, Prototype {
     }
 
     /**
-     * Factory Method to create a WinterArena or SummerArena based on the type.
+     * Factory Method to create a WinterArena for an arena type registered in the {@link FactoryRegistry}.
+     * types whose arenas are not winter arenas, such as summer, get a WinterArena of the same length, surface
+     * and weather; use {@link #createRegisteredArena(String, int, SnowSurface, WeatherCondition)} for the
+     * registered arena itself.
      *
-     * @param type the type of arena (winter or summer).
+     * @param type the type of arena (winter or summer), ignoring case.
      * @param length the length of the arena.
      * @param surface the surface of the arena.
      * @param weather the weather condition in the arena.
-     * @return a WinterArena or SummerArena instance.
+     * @return a WinterArena instance.
+     * @throws IllegalArgumentException if there is no arena of that type.
      */
     public WinterArena createArena(String type, int length, SnowSurface surface, WeatherCondition weather) {
-        if (type.equalsIgnoreCase("winter")) {
-            return new WinterArena(length, surface, weather);
-        } else if (type.equalsIgnoreCase("summer")) {
-            return new WinterArena(length, surface, weather);
+        IArena arena = createRegisteredArena(type, length, surface, weather);
+        if (arena instanceof WinterArena) {
+            return (WinterArena) arena;
         }
-        throw new IllegalArgumentException("Unknown arena type: " + type);
+        return new WinterArena(length, surface, weather);
+    }
+
+    /**
+     * Factory Method to create an arena of a type registered in the {@link FactoryRegistry}.
+     *
+     * @param type the type of arena (winter, summer or any other registered one), ignoring case.
+     * @param length the length of the arena.
+     * @param surface the surface of the arena.
+     * @param weather the weather condition in the arena.
+     * @return the arena made by the factory registered for the type.
+     * @throws IllegalArgumentException if there is no arena of that type.
+     */
+    public IArena createRegisteredArena(String type, int length, SnowSurface surface, WeatherCondition weather) {
+        return FactoryRegistry.getInstance().getArenaFactory(type).create(length, surface, weather);
     }
 
     /**
@@ -109,29 +122,24 @@ public class CompetitionManager implements Observer, Prototype {
     }
 
     /**
-     * Initializes the thread pool with a specified number of threads.
-     *
-     * @param threadPoolSize the size of the thread pool.
+     * @return the orchestrator shared by every competition submitted through this manager, created on first use.
      */
-    public void initializeThreadPool(int threadPoolSize) {
-        this.threadPoolSize = threadPoolSize;
-        executorService = Executors.newFixedThreadPool(threadPoolSize);
+    public synchronized CompetitionOrchestrator getOrchestrator() {
+        if (orchestrator == null) {
+            orchestrator = new CompetitionOrchestrator();
+        }
+        return orchestrator;
     }
 
     /**
-     * Starts the race by submitting competitors to the thread pool.
+     * Races a whole competition on the shared orchestrator, alongside any others already submitted.
+     *
+     * @param competition the competition to race, with all of its competitors added.
+     * @return a future completed with the competition once its race is over.
+     * @throws java.util.concurrent.RejectedExecutionException if too many competitions are already waiting.
      */
-    public void startRace() {
-        for (WinterSportsman competitor : competitors) {
-            executorService.submit(() -> {
-                try {
-                    competitor.run(); // assuming run is the method that executes the race logic
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
-            });
-        }
-        executorService.shutdown();
+    public CompletableFuture<Competition> submitCompetition(Competition competition) {
+        return getOrchestrator().submit(competition);
     }
 
     /**
@@ -148,19 +156,6 @@ public class CompetitionManager implements Observer, Prototype {
         return competitor;
     }
 
-    /**
-     * Observer Pattern method to update the GUI based on state changes.
-     *
-     * @param o the Observable object.
-     * @param arg an argument passed to the notifyObservers method.
-     */
-    @Override
-    public void update(Observable o, Object arg) {
-        WinterSportsman sportsman = (WinterSportsman) o;
-        game.enums.CompetitorState state = sportsman.getState();
-
-    }
-
     /**
      * State Pattern to manage the states of competitors.
      *
@@ -169,7 +164,6 @@ public class CompetitionManager implements Observer, Prototype {
      */
     public void setCompetitorState(WinterSportsman sportsman, CompetitorState state) {
         this.currentState = state;
-        sportsman.notifyObservers();
     }
 
     // Example methods to handle states
@@ -215,6 +209,7 @@ class CompetitorDecorator extends WinterSportsman {
      */
     public void setAcceleration(double acceleration) {
         decoratedCompetitor.setAcceleration(acceleration);
+        super.setAcceleration(acceleration);
     }
 }
 
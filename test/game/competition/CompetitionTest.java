@@ -0,0 +1,96 @@
+package game.competition;
+
+import game.arena.WinterArena;
+import game.entities.sportsman.Skier;
+import game.enums.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Storage of a competition grows with the competitors added, and races behave the same as on a field sized up front.
+ */
+class CompetitionTest {
+
+    @Test
+    void growsUpToMaxCompetitors() {
+        SkiCompetition competition = new SkiCompetition(new WinterArena(500, SnowSurface.ICE, WeatherCondition.SUNNY),
+                1000, Discipline.DOWNHILL, League.ADULT, Gender.MALE);
+        RaceSnapshot snapshot = competition.newSnapshot();
+        for (int i = 0; i < 1000; i++) {
+            competition.addCompetitor(skier(i));
+        }
+        assertEquals(1000, competition.getCompetitorCount());
+        assertThrows(IllegalStateException.class, () -> competition.addCompetitor(skier(1000)));
+
+        competition.readSnapshot(snapshot);
+        assertEquals(1000, snapshot.size());
+        Races.playOut(competition);
+        assertEquals(1000, competition.getFinishedCompetitors().size());
+        for (int row = 0; row < 1000; row++) {
+            assertTrue(competition.getPlace(row) > 0);
+        }
+    }
+
+    @Test
+    void racesTheSameWithRoomForAMillion() {
+        WinterArena arena = new WinterArena(800, SnowSurface.CRUD, WeatherCondition.SUNNY);
+        SkiCompetition exact = Races.playOut(Races.competition(arena, 500, 9));
+        SkiCompetition roomy = Races.playOut(Races.competition(arena, 1_000_000, 500, 9));
+        assertEquals(exact.getTurn(), roomy.getTurn());
+        assertEquals(Races.results(exact), Races.results(roomy));
+    }
+
+    @Test
+    void finishesOnVirtualThreads() throws InterruptedException {
+        SkiCompetition competition = new SkiCompetition(new WinterArena(30, SnowSurface.ICE, WeatherCondition.SUNNY),
+                100, Discipline.DOWNHILL, League.ADULT, Gender.MALE);
+        for (int i = 0; i < 100; i++) {
+            competition.addCompetitor(skier(i));
+        }
+        competition.startCompetition(ExecutionMode.VIRTUAL_THREADS);
+        assertTrue(competition.awaitCompetition(30, TimeUnit.SECONDS));
+        assertFalse(competition.hasActiveCompetitors());
+        assertEquals(100, competition.getFinishedCompetitors().size());
+    }
+
+    @Test
+    void finishesWhenAccelerationChangesMidRace() {
+        SkiCompetition competition = new SkiCompetition(new WinterArena(1000, SnowSurface.ICE, WeatherCondition.SUNNY),
+                2, Discipline.DOWNHILL, League.ADULT, Gender.MALE);
+        Skier slow = new Skier("slow", 25, Gender.MALE, 0.01, 1000, Discipline.DOWNHILL);
+        Skier mid = new Skier("mid", 25, Gender.MALE, 1, 50, Discipline.DOWNHILL);
+        competition.addCompetitor(slow);
+        competition.addCompetitor(mid);
+        for (int turn = 0; turn < 5; turn++) {
+            competition.playTurn();
+        }
+        slow.setAcceleration(100);
+        while (!competition.hasFinished(0)) {
+            competition.playTurn();
+        }
+        assertTrue(slow.getX() < 1000 + slow.getSpeed(), "recorded at " + slow.getX() + ", past the turn it crossed");
+        assertSame(slow, competition.getFinishedCompetitors().get(0));
+        Races.playOut(competition);
+        assertSame(mid, competition.getFinishedCompetitors().get(1));
+    }
+
+    @Test
+    void finishesWhenMovedMidRace() {
+        SkiCompetition competition = new SkiCompetition(new WinterArena(1000, SnowSurface.ICE, WeatherCondition.SUNNY),
+                1, Discipline.DOWNHILL, League.ADULT, Gender.MALE);
+        Skier skier = new Skier("moved", 25, Gender.MALE, 1, 50, Discipline.DOWNHILL);
+        competition.addCompetitor(skier);
+        competition.playTurn();
+        skier.setLocation(999, skier.getY());
+        competition.playTurn();
+        assertTrue(competition.hasFinished(0));
+        assertEquals(2, competition.getTurn());
+    }
+
+    private static Skier skier(int number) {
+        return new Skier("s" + number, 25, Gender.MALE, 5 + number % 7, 10 + number % 5, Discipline.DOWNHILL);
+    }
+}
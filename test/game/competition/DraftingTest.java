@@ -0,0 +1,121 @@
+package game.competition;
+
+import game.arena.ArenaSegment;
+import game.arena.FrictionProfile;
+import game.arena.WinterArena;
+import game.enums.SnowSurface;
+import game.enums.WeatherCondition;
+import game.events.Overtake;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Turns played over the incrementally sorted position order must match a plain O(n<sup>2</sup>) reference: every
+ * competitor looks for the nearest one ahead, and every pair of competitors is checked for an overtake.
+ */
+class DraftingTest {
+    private static final int FIELD_SIZE = 250;
+
+    @ParameterizedTest
+    @CsvSource({
+            "false, 0, 0, 1",
+            "false, 0, 0, 3",
+            "true, 10, 0.5, 1",
+            "true, 10, 0.5, 3",
+            "true, 25, 0.2, 1",
+            "true, 25, 0.2, 3"})
+    void matchesReference(boolean draft, double distance, double frictionFactor, int segments) {
+        WinterArena arena = segments == 1 ? new WinterArena(1000, SnowSurface.CRUD, WeatherCondition.SUNNY)
+                : new WinterArena(List.of(
+                        new ArenaSegment(300, SnowSurface.ICE, WeatherCondition.SUNNY),
+                        new ArenaSegment(400, SnowSurface.POWDER, WeatherCondition.STORMY),
+                        new ArenaSegment(300, SnowSurface.CRUD, WeatherCondition.CLOUDY)));
+        SkiCompetition competition = Races.competition(arena, FIELD_SIZE, 7);
+        if (draft) {
+            competition.setDrafting(new Drafting(distance, frictionFactor));
+        }
+        Map<Competitor, Integer> rows = new IdentityHashMap<>();
+        for (int row = 0; row < FIELD_SIZE; row++) {
+            rows.put(competition.getCompetitor(row), row);
+        }
+        List<Overtake> overtakes = new ArrayList<>();
+        competition.getEventBus().subscribe(Overtake.class, overtakes::addAll);
+
+        CompetitorStore reference = Races.competition(arena, FIELD_SIZE, 7).getStore();
+        FrictionProfile profile = arena.getFrictionProfile();
+        boolean[] active = new boolean[FIELD_SIZE];
+        Arrays.fill(active, true);
+        List<Integer> finishes = new ArrayList<>();
+        int turn = 0;
+        while (competition.hasActiveCompetitors()) {
+            double[] before = new double[FIELD_SIZE];
+            for (int row = 0; row < FIELD_SIZE; row++) {
+                before[row] = reference.getX(row);
+            }
+            for (int row = 0; row < FIELD_SIZE; row++) {
+                if (active[row]) {
+                    double friction = profile.frictionAt(before[row]);
+                    double gap = gapAhead(before, active, row);
+                    reference.move(row, draft && gap > 0 && gap <= distance ? friction * frictionFactor : friction);
+                }
+            }
+            turn++;
+            Set<String> expected = new HashSet<>();
+            for (int row = 0; row < FIELD_SIZE; row++) {
+                for (int other = 0; other < FIELD_SIZE; other++) {
+                    if (active[row] && active[other] && before[row] < before[other] && reference.getX(row) > reference.getX(other)) {
+                        expected.add(row + " passed " + other);
+                    }
+                }
+            }
+
+            overtakes.clear();
+            competition.playTurn();
+
+            Set<String> published = new HashSet<>();
+            for (Overtake overtake : overtakes) {
+                assertEquals(turn, overtake.getTurn());
+                published.add(rows.get(overtake.getCompetitor()) + " passed " + rows.get(overtake.getOvertaken()));
+            }
+            assertEquals(expected.size(), overtakes.size(), "overtakes on turn " + turn);
+            assertEquals(expected, published, "overtakes on turn " + turn);
+            for (int row = 0; row < FIELD_SIZE; row++) {
+                assertEquals(reference.getX(row), competition.getStore().getX(row), "x of row " + row + " on turn " + turn);
+                assertEquals(reference.getSpeed(row), competition.getStore().getSpeed(row), "speed of row " + row + " on turn " + turn);
+                if (active[row] && reference.getX(row) >= arena.getLength()) {
+                    active[row] = false;
+                    finishes.add(row);
+                }
+            }
+        }
+
+        assertEquals(FIELD_SIZE, finishes.size());
+        List<Competitor> results = competition.getFinishedCompetitors();
+        for (int place = 0; place < FIELD_SIZE; place++) {
+            assertSame(competition.getCompetitor(finishes.get(place)), results.get(place), "place " + (place + 1));
+        }
+    }
+
+    /**
+     * @return the distance to the nearest active competitor strictly ahead, or NaN if there is none
+     */
+    private static double gapAhead(double[] x, boolean[] active, int row) {
+        double nearest = Double.NaN;
+        for (int other = 0; other < x.length; other++) {
+            if (active[other] && x[other] > x[row] && !(x[other] >= nearest)) {
+                nearest = x[other];
+            }
+        }
+        return nearest - x[row];
+    }
+}
@@ -0,0 +1,87 @@
+package game.competition;
+
+import game.arena.ArenaSegment;
+import game.arena.WinterArena;
+import game.entities.sportsman.Skier;
+import game.enums.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link Competition#fastForward()} must end every race the way playing it turn by turn does.
+ */
+class FastForwardTest {
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11})
+    void matchesPlayTurn(long seed) {
+        int fieldSize = 1 + (int) (seed * 83 % 500);
+        double length = 100 + seed * 137;
+        SnowSurface surface = SnowSurface.values()[(int) (seed % 3)];
+        assertSameRace(Races.competition(length, surface, fieldSize, seed), Races.competition(length, surface, fieldSize, seed));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 2, 3, 4, 5})
+    void matchesPlayTurnAcrossSegments(long seed) {
+        WinterArena arena = new WinterArena(List.of(
+                new ArenaSegment(300, SnowSurface.ICE, WeatherCondition.SUNNY),
+                new ArenaSegment(400, SnowSurface.POWDER, WeatherCondition.STORMY),
+                new ArenaSegment(300, SnowSurface.CRUD, WeatherCondition.CLOUDY)));
+        assertSameRace(Races.competition(arena, 300, seed), Races.competition(arena, 300, seed));
+    }
+
+    @Test
+    void draftingPlaysTheTurns() {
+        SkiCompetition played = Races.competition(700, SnowSurface.CRUD, 200, 5);
+        SkiCompetition forwarded = Races.competition(700, SnowSurface.CRUD, 200, 5);
+        played.setDrafting(new Drafting());
+        forwarded.setDrafting(new Drafting());
+        Races.playOut(played);
+        forwarded.fastForward();
+        assertEquals(played.getTurn(), forwarded.getTurn());
+        assertEquals(Races.results(played), Races.results(forwarded));
+    }
+
+    @Test
+    void finishesBeyondAMillionTurns() {
+        SkiCompetition competition = crawler(1.1e-5);
+        competition.fastForward();
+        assertTrue(competition.hasFinished(0));
+        assertEquals(10_000 / 1.1e-5, competition.getTurn(), 100); // up to the rounding of 10^9 additions
+    }
+
+    @Test
+    void rejectsFinishesBeyondTheTurnCount() {
+        SkiCompetition competition = crawler(3e-6); // over 3*10^9 steps, past 2^31 and well within 2^53
+        assertThrows(IllegalStateException.class, competition::fastForward);
+    }
+
+    /**
+     * a single skier who tops out at {@code maxSpeed} on a 10 km course
+     */
+    private static SkiCompetition crawler(double maxSpeed) {
+        SkiCompetition competition = new SkiCompetition(new WinterArena(10_000, SnowSurface.ICE, WeatherCondition.SUNNY),
+                1, Discipline.DOWNHILL, League.ADULT, Gender.MALE);
+        competition.addCompetitor(new Skier("crawler", 25, Gender.MALE, 1, maxSpeed, Discipline.DOWNHILL));
+        return competition;
+    }
+
+    private static void assertSameRace(SkiCompetition played, SkiCompetition forwarded) {
+        Races.playOut(played);
+        forwarded.fastForward();
+        assertFalse(forwarded.hasActiveCompetitors());
+        assertEquals(played.getTurn(), forwarded.getTurn());
+        assertEquals(Races.results(played), Races.results(forwarded));
+        for (int row = 0; row < played.getCompetitorCount(); row++) {
+            assertEquals(played.getStore().getSpeed(row), forwarded.getStore().getSpeed(row), 1e-9, "speed of row " + row);
+            assertEquals(played.getStore().getX(row), forwarded.getStore().getX(row), 1e-6, "position of row " + row);
+            assertEquals(played.getPlace(row), forwarded.getPlace(row), "place of row " + row);
+        }
+    }
+}
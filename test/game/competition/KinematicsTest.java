@@ -0,0 +1,99 @@
+package game.competition;
+
+import game.arena.ArenaSegment;
+import game.arena.FrictionProfile;
+import game.arena.WinterArena;
+import game.enums.SnowSurface;
+import game.enums.WeatherCondition;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The closed form answers of {@link Kinematics} must agree with stepping competitors one turn at a time, the way
+ * {@link CompetitorStore#move(int, double)} does, or say they can not tell.
+ */
+class KinematicsTest {
+    private static final FrictionProfile SEGMENTS = new FrictionProfile(List.of(
+            new ArenaSegment(300, SnowSurface.ICE, WeatherCondition.SUNNY),
+            new ArenaSegment(400, SnowSurface.POWDER, WeatherCondition.STORMY),
+            new ArenaSegment(300, SnowSurface.CRUD, WeatherCondition.CLOUDY)));
+
+    @Test
+    void matchesSteppingAcrossSegments() {
+        Random random = new Random(5);
+        int resolved = 0;
+        for (int i = 0; i < 5000; i++) {
+            boolean round = random.nextBoolean();
+            double x = round ? random.nextInt(100) : random.nextDouble() * 100;
+            double speed = round ? random.nextInt(10) : random.nextDouble() * 10;
+            double acceleration = round ? random.nextInt(6) : random.nextDouble() * 5;
+            double maxSpeed = round ? 10 * (1 + random.nextInt(8)) : 1 + random.nextDouble() * 80;
+            double target = round ? 100 * (1 + random.nextInt(10)) : 100 + random.nextDouble() * 900;
+
+            double[] motion = {x, speed};
+            long steps = Kinematics.stepsToReach(motion, acceleration, maxSpeed, SEGMENTS, target);
+            double[] stepped = {x, speed};
+            long expected = step(stepped, acceleration, maxSpeed, target);
+            if (steps == Kinematics.UNRESOLVED) {
+                assertArrayEquals(new double[]{x, speed}, motion, "motion changed although unresolved");
+                continue;
+            }
+            Supplier<String> inputs = () -> "x=" + x + " speed=" + speed + " acceleration=" + acceleration
+                    + " maxSpeed=" + maxSpeed + " target=" + target;
+            assertEquals(expected, steps, inputs);
+            if (steps != Kinematics.NEVER) {
+                assertEquals(stepped[0], motion[0], 1e-6, inputs);
+                assertEquals(stepped[1], motion[1], 1e-9, inputs);
+                resolved++;
+            }
+        }
+        assertTrue(resolved > 2500, "only " + resolved + " resolved");
+    }
+
+    @Test
+    void leavesHandOffsOnSegmentEndsUnresolved() {
+        // at top speed from the start line every step is 10 long, so the 30th lands exactly on the end of the ice
+        double[] motion = {0, 10};
+        assertEquals(Kinematics.UNRESOLVED, Kinematics.stepsToReach(motion, 1, 10, SEGMENTS, 1000));
+        assertArrayEquals(new double[]{0, 10}, motion);
+
+        double[] offset = {0.5, 10};
+        assertEquals(100, Kinematics.stepsToReach(offset, 1, 10, SEGMENTS, 1000));
+        assertEquals(1000.5, offset[0]);
+    }
+
+    @Test
+    void neverReachesWithoutSpeedOrAcceleration() {
+        assertEquals(Kinematics.NEVER, Kinematics.stepsToReach(new double[]{0, 0}, 0, 10, SEGMENTS, 1000));
+        assertEquals(Kinematics.NEVER, Kinematics.stepsToReach(new double[]{0, 5}, 1, 0, SEGMENTS, 1000));
+        assertEquals(0, Kinematics.stepsToReach(new double[]{1000, 0}, 0, 10, SEGMENTS, 1000));
+    }
+
+    @Test
+    void rejectsArenasWithoutLength() {
+        assertThrows(IllegalArgumentException.class, () -> new WinterArena(0, SnowSurface.ICE, WeatherCondition.SUNNY));
+        assertThrows(IllegalArgumentException.class, () -> new ArenaSegment(-1, SnowSurface.ICE, WeatherCondition.SUNNY));
+    }
+
+    /**
+     * step one competitor a turn at a time until it reaches the target, or for at most a million turns
+     * @return the number of turns, or {@link Kinematics#NEVER}
+     */
+    private static long step(double[] motion, double acceleration, double maxSpeed, double target) {
+        long steps = 0;
+        while (motion[0] < target) {
+            if (steps == 1_000_000) {
+                return Kinematics.NEVER;
+            }
+            motion[1] = Math.min(maxSpeed, motion[1] + acceleration * (1 - SEGMENTS.frictionAt(motion[0])));
+            motion[0] += motion[1];
+            steps++;
+        }
+        return steps;
+    }
+}
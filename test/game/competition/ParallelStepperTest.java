@@ -0,0 +1,131 @@
+package game.competition;
+
+import game.enums.SnowSurface;
+import game.events.Overtake;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Races played by a {@link ParallelStepper} must be bit-identical to the same races played by
+ * {@link Competition#playTurn()}, whatever the chunk size.
+ */
+class ParallelStepperTest {
+    private static final int FIELD_SIZE = 2000;
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdown();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "false, false, 1",
+            "false, false, 64",
+            "false, false, 100000",
+            "true, false, 64",
+            "true, true, 64",
+            "true, true, 777"})
+    void matchesPlayTurn(boolean draft, boolean overtakes, int chunkSize) {
+        SkiCompetition sequential = Races.competition(1000, SnowSurface.CRUD, FIELD_SIZE, 13);
+        SkiCompetition parallel = Races.competition(1000, SnowSurface.CRUD, FIELD_SIZE, 13);
+        if (draft) {
+            sequential.setDrafting(new Drafting());
+            parallel.setDrafting(new Drafting());
+        }
+        AtomicLong sequentialOvertakes = new AtomicLong();
+        AtomicLong parallelOvertakes = new AtomicLong();
+        if (overtakes) {
+            sequential.getEventBus().subscribe(Overtake.class, events -> sequentialOvertakes.addAndGet(events.size()));
+            parallel.getEventBus().subscribe(Overtake.class, events -> parallelOvertakes.addAndGet(events.size()));
+        }
+        ParallelStepper stepper = new ParallelStepper(parallel, pool, chunkSize);
+
+        while (sequential.hasActiveCompetitors()) {
+            sequential.playTurn();
+            stepper.playTurn();
+            assertSameRows(sequential, parallel);
+            assertEquals(sequentialOvertakes.get(), parallelOvertakes.get(), "overtakes by turn " + sequential.getTurn());
+        }
+        assertFalse(parallel.hasActiveCompetitors());
+        assertEquals(sequential.getTurn(), parallel.getTurn());
+        assertEquals(Races.results(sequential), Races.results(parallel));
+    }
+
+    @Test
+    void playsWholeRaces() {
+        SkiCompetition sequential = Races.playOut(Races.competition(800, SnowSurface.POWDER, FIELD_SIZE, 17));
+        SkiCompetition parallel = Races.competition(800, SnowSurface.POWDER, FIELD_SIZE, 17);
+        new ParallelStepper(parallel, pool, 100).playRace();
+        assertSameRows(sequential, parallel);
+        assertEquals(sequential.getTurn(), parallel.getTurn());
+        assertEquals(Races.results(sequential), Races.results(parallel));
+    }
+
+    @Test
+    void keepsPlayingAfterARejectedChunk() {
+        SkiCompetition parallel = Races.competition(800, SnowSurface.POWDER, FIELD_SIZE, 19);
+        RejectingPool rejecting = new RejectingPool(3);
+        try {
+            ParallelStepper stepper = new ParallelStepper(parallel, rejecting, 100);
+            assertThrows(RejectedExecutionException.class, stepper::playTurn);
+            assertEquals(0, parallel.getTurn());
+            assertTimeoutPreemptively(Duration.ofSeconds(30), stepper::playRace);
+        } finally {
+            rejecting.shutdown();
+        }
+        assertFalse(parallel.hasActiveCompetitors());
+        assertEquals(FIELD_SIZE, parallel.getFinishedCompetitors().size());
+    }
+
+    /**
+     * a pool that rejects a single task, after accepting the given number of them
+     */
+    private static class RejectingPool extends ForkJoinPool {
+        private int accepted;
+
+        RejectingPool(int accepted) {
+            super(4);
+            this.accepted = accepted;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            if (accepted-- == 0) {
+                throw new RejectedExecutionException("rejected for the test");
+            }
+            super.execute(task);
+        }
+    }
+
+    private static void assertSameRows(Competition expected, Competition actual) {
+        CompetitorStore expectedStore = expected.getStore();
+        CompetitorStore actualStore = actual.getStore();
+        for (int row = 0; row < expected.getCompetitorCount(); row++) {
+            // messages are only built for a row that differs, the fields are large
+            if (Double.doubleToRawLongBits(expectedStore.getX(row)) != Double.doubleToRawLongBits(actualStore.getX(row))
+                    || Double.doubleToRawLongBits(expectedStore.getSpeed(row)) != Double.doubleToRawLongBits(actualStore.getSpeed(row))
+                    || expected.getPlace(row) != actual.getPlace(row)) {
+                fail("row " + row + " on turn " + expected.getTurn() + ": x " + expectedStore.getX(row) + " / " + actualStore.getX(row)
+                        + ", speed " + expectedStore.getSpeed(row) + " / " + actualStore.getSpeed(row)
+                        + ", place " + expected.getPlace(row) + " / " + actual.getPlace(row));
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package game.competition;
+
+import game.arena.WinterArena;
+import game.entities.sportsman.Skier;
+import game.enums.*;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded rosters shared by the tests, so a failure always replays the same race.
+ */
+final class Races {
+    private Races() {
+    }
+
+    /**
+     * @return a downhill ski competition on the arena, filled with {@code fieldSize} adult male skiers; about a third
+     * of them have round accelerations and top speeds, so competitors tie and land exactly on segment ends
+     */
+    static SkiCompetition competition(WinterArena arena, int fieldSize, long seed) {
+        return competition(arena, fieldSize, fieldSize, seed);
+    }
+
+    /**
+     * as {@link #competition(WinterArena, int, long)}, in a competition with room for more competitors
+     */
+    static SkiCompetition competition(WinterArena arena, int maxCompetitors, int fieldSize, long seed) {
+        SkiCompetition competition = new SkiCompetition(arena, maxCompetitors, Discipline.DOWNHILL, League.ADULT, Gender.MALE);
+        Random random = new Random(seed);
+        for (int i = 0; i < fieldSize; i++) {
+            boolean round = random.nextInt(3) == 0;
+            double acceleration = round ? 1 + random.nextInt(6) : 0.5 + random.nextDouble() * 5;
+            double maxSpeed = round ? 10 * (1 + random.nextInt(8)) : 20 + random.nextDouble() * 60;
+            competition.addCompetitor(new Skier("s" + i, 18 + random.nextInt(30), Gender.MALE, acceleration, maxSpeed, Discipline.DOWNHILL));
+        }
+        return competition;
+    }
+
+    static SkiCompetition competition(double length, SnowSurface surface, int fieldSize, long seed) {
+        return competition(new WinterArena(length, surface, WeatherCondition.SUNNY), fieldSize, seed);
+    }
+
+    /**
+     * @return the competition, after playing it turn by turn to the end
+     */
+    static <C extends Competition> C playOut(C competition) {
+        while (competition.hasActiveCompetitors()) {
+            competition.playTurn();
+        }
+        return competition;
+    }
+
+    /**
+     * @return the names of the competitors in finishing order
+     */
+    static List<String> results(Competition competition) {
+        return competition.getFinishedCompetitors().stream().map(Object::toString).toList();
+    }
+}
@@ -0,0 +1,149 @@
+package game.competition;
+
+import game.enums.CompetitorState;
+import game.enums.SnowSurface;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A {@link RankingIndex} must rank every snapshot exactly as sorting it from scratch does, whether it got there by
+ * insertion sorting the previous order or by sorting in full.
+ */
+class RankingIndexTest {
+
+    @Test
+    void sortsAReversedFieldInFull() {
+        // every row is as far from its rank as it can be, far past the insertion sort's budget
+        RaceSnapshot snapshot = new RaceSnapshot(0);
+        snapshot.reset(1, 1000);
+        for (int row = 0; row < 1000; row++) {
+            snapshot.setRow(row, row / 3, row, 1, CompetitorState.ACTIVE, 0);
+        }
+        RankingIndex index = new RankingIndex();
+        index.update(snapshot);
+        assertRanked(snapshot, index);
+        assertEquals(999, index.getRow(1));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 2, 3})
+    void ranksRandomSnapshotsLikeAFullSort(long seed) {
+        Random random = new Random(seed);
+        RaceSnapshot snapshot = new RaceSnapshot(0);
+        RankingIndex index = new RankingIndex(16);
+        int size = 500;
+        int places = 0;
+        double[] x = new double[size];
+        int[] place = new int[size];
+        for (int turn = 1; turn <= 50; turn++) {
+            snapshot.reset(turn, size);
+            for (int row = 0; row < size; row++) {
+                if (place[row] == 0) {
+                    x[row] += random.nextInt(4); // few distinct steps, so many rows tie on position
+                    if (x[row] > 120) {
+                        place[row] = random.nextInt(4) == 0 ? Competition.PLACE_PENDING : ++places;
+                    }
+                }
+                snapshot.setRow(row, x[row], row, 1, CompetitorState.ACTIVE, place[row]);
+            }
+            index.update(snapshot);
+            assertEquals(turn, index.getTurn());
+            assertRanked(snapshot, index);
+        }
+    }
+
+    @Test
+    void breaksTiesByPlaceThenPositionThenRow() {
+        RaceSnapshot snapshot = new RaceSnapshot(0);
+        snapshot.reset(7, 7);
+        snapshot.setRow(0, 50, 0, 1, CompetitorState.ACTIVE, 0);
+        snapshot.setRow(1, 90, 1, 1, CompetitorState.ACTIVE, 0);
+        snapshot.setRow(2, 100, 2, 0, CompetitorState.COMPLETED, 2);
+        snapshot.setRow(3, 120, 3, 0, CompetitorState.COMPLETED, Competition.PLACE_PENDING);
+        snapshot.setRow(4, 105, 4, 0, CompetitorState.COMPLETED, 1);
+        snapshot.setRow(5, 50, 5, 1, CompetitorState.ACTIVE, 0);
+        snapshot.setRow(6, 101, 6, 0, CompetitorState.COMPLETED, Competition.PLACE_PENDING);
+        RankingIndex index = new RankingIndex();
+        index.update(snapshot);
+        // placed in place order, then finished without a place yet, then racing furthest first, level rows by row
+        assertArrayEquals(new int[]{4, 2, 3, 6, 1, 0, 5}, index.top(10));
+        assertRanked(snapshot, index);
+    }
+
+    @Test
+    void ranksTheRowsASnapshotGrewBy() {
+        RaceSnapshot snapshot = new RaceSnapshot(0);
+        snapshot.reset(1, 3);
+        for (int row = 0; row < 3; row++) {
+            snapshot.setRow(row, row, row, 1, CompetitorState.ACTIVE, 0);
+        }
+        RankingIndex index = new RankingIndex(2);
+        index.update(snapshot);
+        assertRanked(snapshot, index);
+
+        snapshot.reset(2, 40);
+        for (int row = 0; row < 40; row++) {
+            snapshot.setRow(row, (row * 7) % 11, row, 1, CompetitorState.ACTIVE, 0);
+        }
+        index.update(snapshot);
+        assertEquals(40, index.size());
+        assertRanked(snapshot, index);
+
+        snapshot.reset(3, 39);
+        assertThrows(IllegalArgumentException.class, () -> index.update(snapshot));
+    }
+
+    @Test
+    void followsARaceTurnByTurn() {
+        SkiCompetition competition = Races.competition(600, SnowSurface.CRUD, 800, 21);
+        RaceSnapshot snapshot = competition.newSnapshot();
+        RankingIndex index = new RankingIndex();
+        while (competition.hasActiveCompetitors()) {
+            competition.playTurn();
+            competition.readSnapshot(snapshot);
+            index.update(snapshot);
+            assertRanked(snapshot, index);
+        }
+        competition.releaseSnapshot(snapshot);
+        for (int rank = 1; rank <= index.size(); rank++) {
+            assertEquals(rank, competition.getPlace(index.getRow(rank)));
+        }
+    }
+
+    /**
+     * compare every rank with a stable full sort of the snapshot
+     */
+    private static void assertRanked(RaceSnapshot snapshot, RankingIndex index) {
+        int[] expected = IntStream.range(0, snapshot.size()).boxed()
+                .sorted(Comparator.<Integer>comparingLong(row -> placeKey(snapshot.getPlace(row)))
+                        .thenComparing(row -> -snapshot.getX(row))
+                        .thenComparing(row -> row))
+                .mapToInt(Integer::intValue).toArray();
+        assertEquals(expected.length, index.size());
+        int[] actual = index.top(expected.length);
+        if (!Arrays.equals(expected, actual)) {
+            fail("turn " + snapshot.getTurn() + ": expected " + Arrays.toString(expected) + " but was " + Arrays.toString(actual));
+        }
+        for (int rank = 1; rank <= expected.length; rank++) {
+            if (index.getRank(expected[rank - 1]) != rank || index.getRow(rank) != expected[rank - 1]) {
+                fail("turn " + snapshot.getTurn() + ": rank " + rank + " is row " + index.getRow(rank)
+                        + ", row " + expected[rank - 1] + " has rank " + index.getRank(expected[rank - 1]));
+            }
+        }
+    }
+
+    /**
+     * places first in order, pending places after them and competitors still racing last
+     */
+    private static long placeKey(int place) {
+        return place == 0 ? Long.MAX_VALUE : place;
+    }
+}
@@ -0,0 +1,85 @@
+package game.competition;
+
+import game.enums.SnowSurface;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Readers of a {@link SnapshotBuffer} must only ever see whole publications, however fast they are overwritten.
+ */
+class SnapshotBufferTest {
+    private static final int ROWS = 5000;
+    private static final int PUBLICATIONS = 20000;
+    private static final int READERS = 3;
+
+    @Test
+    void readersNeverSeeTornSnapshots() throws InterruptedException {
+        CompetitorStore store = new CompetitorStore(ROWS);
+        for (int row = 0; row < ROWS; row++) {
+            store.add(0, row, 0, 1, 10);
+        }
+        AtomicIntegerArray finished = new AtomicIntegerArray(ROWS);
+        SnapshotBuffer buffer = new SnapshotBuffer(ROWS);
+        buffer.publish(store, finished, 0);
+
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicLong reads = new AtomicLong();
+        AtomicLong torn = new AtomicLong();
+        Thread[] readers = new Thread[READERS];
+        for (int i = 0; i < READERS; i++) {
+            readers[i] = new Thread(() -> {
+                RaceSnapshot snapshot = new RaceSnapshot(0);
+                int lastTurn = 0;
+                while (!done.get()) {
+                    buffer.read(snapshot);
+                    reads.incrementAndGet();
+                    // every row of publication k is at x = k, and turns never go back
+                    boolean whole = snapshot.size() == ROWS && snapshot.getTurn() >= lastTurn;
+                    for (int row = 0; whole && row < ROWS; row++) {
+                        whole = snapshot.getX(row) == snapshot.getTurn() && snapshot.getY(row) == row;
+                    }
+                    if (!whole) {
+                        torn.incrementAndGet();
+                    }
+                    lastTurn = snapshot.getTurn();
+                }
+            });
+            readers[i].start();
+        }
+        for (int turn = 1; turn <= PUBLICATIONS; turn++) {
+            for (int row = 0; row < ROWS; row++) {
+                store.setLocation(row, turn, row);
+            }
+            buffer.publish(store, finished, turn);
+        }
+        done.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertTrue(reads.get() > 0);
+        assertEquals(0, torn.get(), "torn reads out of " + reads.get());
+    }
+
+    @Test
+    void readsTheLastPublication() {
+        SkiCompetition competition = Races.competition(800, SnowSurface.CRUD, 100, 1);
+        RaceSnapshot snapshot = competition.newSnapshot();
+        for (int i = 0; i < 10; i++) {
+            competition.playTurn();
+        }
+        competition.readSnapshot(snapshot);
+        assertEquals(competition.getTurn(), snapshot.getTurn());
+        for (int row = 0; row < competition.getCompetitorCount(); row++) {
+            assertEquals(competition.getStore().getX(row), snapshot.getX(row));
+            assertEquals(competition.hasFinished(row), snapshot.hasFinished(row));
+        }
+        competition.releaseSnapshot(snapshot);
+        assertThrows(IllegalStateException.class, () -> competition.readSnapshot(snapshot));
+    }
+}
@@ -0,0 +1,54 @@
+package game.entities.sportsman;
+
+import game.arena.WinterArena;
+import game.competition.SkiCompetition;
+import game.enums.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A competitor attached to a competition keeps its movement state in the competition's store.
+ */
+class WinterSportsmanTest {
+
+    @Test
+    void writesAccelerationThroughToTheStore() {
+        SkiCompetition competition = competition();
+        Skier skier = new Skier("a", 20, Gender.MALE, 2, 50, Discipline.DOWNHILL);
+        competition.addCompetitor(skier);
+        competition.playTurn();
+
+        skier.setAcceleration(5);
+        assertEquals(skier.getAcceleration(), competition.getStore().getAcceleration(0));
+        double speed = skier.getSpeed();
+        competition.playTurn();
+        assertEquals(Math.min(50, speed + skier.getAcceleration() * (1 - competition.getArena().getFriction())), skier.getSpeed());
+    }
+
+    @Test
+    void clonesAreDetached() {
+        SkiCompetition competition = competition();
+        Skier skier = new Skier("a", 20, Gender.MALE, 2, 50, Discipline.DOWNHILL);
+        competition.addCompetitor(skier);
+        competition.playTurn();
+
+        WinterSportsman clone = skier.clone();
+        assertEquals(skier.getX(), clone.getX());
+        assertEquals(skier.getY(), clone.getY());
+        assertEquals(skier.getSpeed(), clone.getSpeed());
+        assertEquals(skier.getAcceleration(), clone.getAcceleration());
+
+        double x = skier.getX();
+        clone.setLocation(x + 100, 3);
+        clone.setAcceleration(9);
+        assertEquals(x, skier.getX());
+        assertEquals(x, competition.getStore().getX(0));
+        assertNotEquals(clone.getAcceleration(), competition.getStore().getAcceleration(0));
+    }
+
+    private static SkiCompetition competition() {
+        return new SkiCompetition(new WinterArena(1000, SnowSurface.CRUD, WeatherCondition.SUNNY), 5,
+                Discipline.DOWNHILL, League.ADULT, Gender.MALE);
+    }
+}
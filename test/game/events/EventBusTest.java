@@ -0,0 +1,141 @@
+package game.events;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * An {@link EventBus} hands every published event to the subscribers of its class exactly once, in publishing order,
+ * a batch per flush, whichever thread flushes.
+ */
+class EventBusTest {
+
+    @Test
+    void deliversInPublishingOrder() {
+        EventBus bus = new EventBus();
+        List<Integer> turns = new ArrayList<>();
+        bus.subscribe(PositionChanged.class, events -> events.forEach(event -> turns.add(event.getTurn())));
+        List<Integer> expected = new ArrayList<>();
+        for (int turn = 0; turn < 1000; turn++) {
+            bus.publish(new PositionChanged(null, turn, turn, 1));
+            expected.add(turn);
+        }
+        bus.flush();
+        assertEquals(expected, turns);
+    }
+
+    @Test
+    void deliversABatchPerFlush() {
+        EventBus bus = new EventBus();
+        List<Integer> batches = new ArrayList<>();
+        bus.subscribe(PositionChanged.class, events -> batches.add(events.size()));
+        for (int i = 0; i < 3; i++) {
+            bus.publish(new PositionChanged(null, 1, i, 1));
+        }
+        bus.flush();
+        bus.flush();
+        bus.publish(new PositionChanged(null, 2, 0, 1));
+        bus.publish(new PositionChanged(null, 2, 1, 1));
+        bus.flush();
+        assertEquals(List.of(3, 2), batches);
+    }
+
+    @Test
+    void deliversOnlyTheSubscribedClass() {
+        EventBus bus = new EventBus();
+        List<RaceEvent> received = new ArrayList<>();
+        bus.subscribe(Finished.class, received::addAll);
+        bus.publish(new PositionChanged(null, 1, 0, 1));
+        Finished finished = new Finished(null, 1, 1);
+        bus.publish(finished);
+        bus.flush();
+        assertEquals(List.of(finished), received);
+        assertTrue(bus.hasSubscribers(Finished.class));
+        assertFalse(bus.hasSubscribers(PositionChanged.class));
+    }
+
+    @Test
+    void keepsDeliveringPastAFailingSubscriber() {
+        EventBus bus = new EventBus();
+        List<Integer> failing = new ArrayList<>();
+        List<Integer> healthy = new ArrayList<>();
+        bus.subscribe(PositionChanged.class, events -> {
+            failing.add(events.size());
+            throw new IllegalStateException("failing on purpose");
+        });
+        bus.subscribe(PositionChanged.class, events -> healthy.add(events.size()));
+        bus.publish(new PositionChanged(null, 1, 0, 1));
+        bus.publish(new PositionChanged(null, 1, 1, 1));
+        bus.flush();
+        bus.publish(new PositionChanged(null, 2, 0, 1));
+        bus.flush();
+        // the failed batch is skipped, not delivered again
+        assertEquals(List.of(2, 1), failing);
+        assertEquals(List.of(2, 1), healthy);
+    }
+
+    @Test
+    void dropsEventsOfAnUnsubscribedSubscription() {
+        EventBus bus = new EventBus();
+        AtomicInteger received = new AtomicInteger();
+        EventBus.Subscription<PositionChanged> subscription =
+                bus.subscribe(PositionChanged.class, events -> received.addAndGet(events.size()));
+        bus.publish(new PositionChanged(null, 1, 0, 1));
+        bus.unsubscribe(subscription);
+        bus.flush();
+        assertEquals(0, received.get());
+        assertFalse(bus.hasSubscribers(PositionChanged.class));
+    }
+
+    @Test
+    void deliversEventsFlushedWhileAnotherFlushFinishes() throws InterruptedException {
+        EventBus bus = new EventBus();
+        AtomicInteger positions = new AtomicInteger();
+        bus.subscribe(PositionChanged.class, events -> positions.addAndGet(events.size()));
+        // runs after the position queue was already emptied by the same flush
+        bus.subscribe(Finished.class, events -> {
+            Thread late = new Thread(() -> {
+                bus.publish(new PositionChanged(null, 1, 0, 1));
+                bus.flush(); // returns at once, the first flush is still running
+            });
+            late.start();
+            try {
+                late.join();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        bus.publish(new Finished(null, 1, 1));
+        bus.flush();
+        assertEquals(1, positions.get());
+    }
+
+    @Test
+    void deliversEveryEventOnceWithConcurrentFlushes() throws InterruptedException {
+        int threads = 4;
+        int perThread = 20_000;
+        EventBus bus = new EventBus();
+        AtomicInteger received = new AtomicInteger();
+        bus.subscribe(PositionChanged.class, events -> received.addAndGet(events.size()));
+        Thread[] publishers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int lane = t;
+            publishers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    bus.publish(new PositionChanged(null, i, lane, 1));
+                    bus.flush();
+                }
+            });
+            publishers[t].start();
+        }
+        for (Thread publisher : publishers) {
+            publisher.join();
+        }
+        // no flush after the publishers are done: each one's last flush must have gone out
+        assertEquals(threads * perThread, received.get());
+    }
+}
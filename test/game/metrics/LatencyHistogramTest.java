@@ -0,0 +1,109 @@
+package game.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Percentiles of a {@link LatencyHistogram} are the upper bound of their power of two bucket, capped by the maximum.
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void reportsZeroWhenEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMean());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(50));
+        assertEquals(0, histogram.getPercentile(100));
+    }
+
+    @Test
+    void reportsBucketUpperBounds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 1000; nanos++) {
+            histogram.record(nanos);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500.5, histogram.getMean());
+        assertEquals(1000, histogram.getMax());
+        assertEquals(1, histogram.getPercentile(0.1)); // the first value, alone in bucket [1, 2)
+        assertEquals(511, histogram.getPercentile(50)); // the 500th value, in bucket [256, 512)
+        assertEquals(1000, histogram.getPercentile(99)); // bucket [512, 1024), capped by the maximum
+        assertEquals(1000, histogram.getPercentile(100));
+    }
+
+    @Test
+    void countsZeroAndNegativeDurationsAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(0);
+        histogram.record(-5);
+        histogram.record(-1);
+        histogram.record(1 << 20);
+        assertEquals(4, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(75));
+        assertEquals(1 << 20, histogram.getPercentile(100));
+    }
+
+    @Test
+    void staysWithinTwiceTheExactPercentile() {
+        Random random = new Random(11);
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextDouble() * 30); // spread over many buckets
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        for (double percentile : new double[]{1, 10, 50, 90, 99, 99.9, 100}) {
+            long exact = values[(int) Math.ceil(values.length * percentile / 100) - 1];
+            long reported = histogram.getPercentile(percentile);
+            assertTrue(reported >= exact && reported <= 2 * exact,
+                    "p" + percentile + " reported " + reported + " for exact " + exact);
+        }
+    }
+
+    @Test
+    void handlesTheLargestDurations() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.getPercentile(50));
+        assertEquals(Long.MAX_VALUE, histogram.getMax());
+    }
+
+    @Test
+    void countsRecordsFromManyThreads() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            long nanos = 100L << i;
+            threads[i] = new Thread(() -> {
+                for (int n = 0; n < 100_000; n++) {
+                    histogram.record(nanos);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(400_000, histogram.getCount());
+        assertEquals(800, histogram.getMax());
+        assertEquals(127, histogram.getPercentile(25));
+        assertEquals(800, histogram.getPercentile(100));
+    }
+
+    @Test
+    void forgetsEverythingOnReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1000);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(100));
+    }
+}
@@ -0,0 +1,187 @@
+package game.orchestration;
+
+import game.arena.WinterArena;
+import game.competition.Competition;
+import game.competition.SkiCompetition;
+import game.entities.sportsman.Skier;
+import game.enums.*;
+import game.events.PositionChanged;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A {@link CompetitionOrchestrator} admits competitions up to its limits, races the waiting ones as places free up,
+ * and stops a cancelled race after its slice.
+ * races that must stay running hold their worker on a gate until the test opens it.
+ */
+class CompetitionOrchestratorTest {
+    private static final long TIMEOUT_SECONDS = 30;
+
+    @Test
+    void rejectsOnceWaitingIsFull() throws Exception {
+        Gate gate = new Gate();
+        CompetitionOrchestrator orchestrator = new CompetitionOrchestrator(1, 1, 2, 4);
+        try {
+            CompletableFuture<Competition> held = orchestrator.submit(gate.hold(race(10)));
+            gate.awaitHolding();
+            CompletableFuture<Competition> second = orchestrator.submit(race(10));
+            CompletableFuture<Competition> third = orchestrator.submit(race(10));
+            assertEquals(1, orchestrator.getRunningCount());
+            assertEquals(2, orchestrator.getWaitingCount());
+            assertThrows(RejectedExecutionException.class, () -> orchestrator.submit(race(10)));
+
+            gate.open();
+            for (CompletableFuture<Competition> future : List.of(held, second, third)) {
+                assertFalse(future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).hasActiveCompetitors());
+            }
+        } finally {
+            gate.open();
+            orchestrator.close();
+        }
+    }
+
+    @Test
+    void promotesAWaitingRaceWhenOneIsOver() throws Exception {
+        Gate gate = new Gate();
+        CompetitionOrchestrator orchestrator = new CompetitionOrchestrator(2, 1, 10, 4);
+        try {
+            Competition first = gate.hold(race(10));
+            CompletableFuture<Competition> held = orchestrator.submit(first);
+            gate.awaitHolding();
+            List<Competition> over = Collections.synchronizedList(new ArrayList<>());
+            held.thenAccept(over::add);
+            List<Competition> waiting = new ArrayList<>();
+            List<CompletableFuture<Competition>> futures = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                Competition competition = race(10 + i);
+                waiting.add(competition);
+                CompletableFuture<Competition> future = orchestrator.submit(competition);
+                future.thenAccept(over::add);
+                futures.add(future);
+            }
+            // a second worker is idle, but only one competition may race at a time
+            assertEquals(3, orchestrator.getWaitingCount());
+            for (Competition competition : waiting) {
+                assertEquals(0, competition.getTurn());
+            }
+
+            gate.open();
+            for (CompletableFuture<Competition> future : futures) {
+                future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+            List<Competition> expected = new ArrayList<>();
+            expected.add(first);
+            expected.addAll(waiting);
+            assertEquals(expected, over);
+        } finally {
+            gate.open();
+            orchestrator.close();
+        }
+    }
+
+    @Test
+    void stopsACancelledRaceAfterItsSlice() throws Exception {
+        int turnsPerSlice = 4;
+        Gate gate = new Gate();
+        CompetitionOrchestrator orchestrator = new CompetitionOrchestrator(1, 1, 0, turnsPerSlice);
+        Competition competition = gate.hold(race(10));
+        CompletableFuture<Competition> future = orchestrator.submit(competition);
+        gate.awaitHolding();
+        assertTrue(future.cancel(false));
+        gate.open();
+        orchestrator.shutdown();
+        assertTrue(orchestrator.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertThrows(CancellationException.class, future::join);
+        assertTrue(competition.hasActiveCompetitors());
+        assertTrue(competition.getTurn() <= turnsPerSlice, "played " + competition.getTurn() + " turns");
+        assertEquals(0, orchestrator.getRunningCount());
+    }
+
+    @Test
+    void shutsDownOnceEveryAdmittedRaceIsOver() throws Exception {
+        Gate gate = new Gate();
+        CompetitionOrchestrator orchestrator = new CompetitionOrchestrator(2, 2, 10, 4);
+        List<CompletableFuture<Competition>> futures = new ArrayList<>();
+        futures.add(orchestrator.submit(gate.hold(race(10))));
+        gate.awaitHolding();
+        for (int i = 0; i < 5; i++) {
+            futures.add(orchestrator.submit(race(20 + i)));
+        }
+        orchestrator.shutdown();
+        assertThrows(RejectedExecutionException.class, () -> orchestrator.submit(race(10)));
+        assertFalse(orchestrator.awaitTermination(100, TimeUnit.MILLISECONDS), "stopped with a race still held");
+
+        gate.open();
+        assertTrue(orchestrator.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        for (CompletableFuture<Competition> future : futures) {
+            assertTrue(future.isDone());
+            assertFalse(future.join().hasActiveCompetitors());
+        }
+        assertEquals(0, orchestrator.getRunningCount());
+        assertEquals(0, orchestrator.getWaitingCount());
+    }
+
+    @Test
+    void rejectsARaceThatCanNeverEnd() {
+        CompetitionOrchestrator orchestrator = new CompetitionOrchestrator(1, 1, 0, 4);
+        try {
+            SkiCompetition competition = new SkiCompetition(new WinterArena(500, SnowSurface.ICE, WeatherCondition.SUNNY),
+                    1, Discipline.DOWNHILL, League.ADULT, Gender.MALE);
+            competition.addCompetitor(new Skier("still", 25, Gender.MALE, 1, 0, Discipline.DOWNHILL));
+            assertThrows(IllegalArgumentException.class, () -> orchestrator.submit(competition));
+            assertEquals(0, orchestrator.getRunningCount());
+        } finally {
+            orchestrator.close();
+        }
+    }
+
+    /**
+     * @return a downhill race long enough to take many slices
+     */
+    private static SkiCompetition race(int fieldSize) {
+        SkiCompetition competition = new SkiCompetition(new WinterArena(2000, SnowSurface.CRUD, WeatherCondition.SUNNY),
+                fieldSize, Discipline.DOWNHILL, League.ADULT, Gender.MALE);
+        for (int i = 0; i < fieldSize; i++) {
+            competition.addCompetitor(new Skier("s" + i, 25, Gender.MALE, 1 + i % 5, 10 + i % 7, Discipline.DOWNHILL));
+        }
+        return competition;
+    }
+
+    /**
+     * holds the worker playing the first turn of a competition until the test opens it
+     */
+    private static final class Gate {
+        private final CountDownLatch holding = new CountDownLatch(1);
+        private final CountDownLatch open = new CountDownLatch(1);
+
+        Competition hold(Competition competition) {
+            competition.getEventBus().subscribe(PositionChanged.class, events -> {
+                holding.countDown();
+                try {
+                    open.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            return competition;
+        }
+
+        void awaitHolding() throws InterruptedException {
+            assertTrue(holding.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), "the race never started");
+        }
+
+        void open() {
+            open.countDown();
+        }
+    }
+}
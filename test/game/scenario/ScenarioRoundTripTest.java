@@ -0,0 +1,172 @@
+package game.scenario;
+
+import game.arena.ArenaSegment;
+import game.arena.WinterArena;
+import game.competition.Competitor;
+import game.competition.SkiCompetition;
+import game.competition.SnowboardCompetition;
+import game.competition.WinterCompetition;
+import game.entities.sportsman.Skier;
+import game.entities.sportsman.Snowboarder;
+import game.entities.sportsman.Sportsman;
+import game.enums.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A competition saved by {@link ScenarioWriter} must load back from {@link ScenarioReader} as it was, and files of
+ * earlier versions must still load.
+ */
+class ScenarioRoundTripTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void loadsWhatWasSaved() throws IOException {
+        WinterArena arena = new WinterArena(List.of(
+                new ArenaSegment(300, SnowSurface.ICE, WeatherCondition.SUNNY),
+                new ArenaSegment(450, SnowSurface.POWDER, WeatherCondition.STORMY)));
+        SkiCompetition saved = new SkiCompetition(arena, 2000, Discipline.GIANT_SLALOM, League.ADULT, Gender.FEMALE);
+        Random random = new Random(3);
+        for (int i = 0; i < 1500; i++) {
+            saved.addCompetitor(new Skier("skier " + i, 18 + random.nextInt(13), Gender.FEMALE,
+                    1 + random.nextDouble() * 5, 20 + random.nextDouble() * 40, Discipline.GIANT_SLALOM));
+        }
+        Path path = directory.resolve("ski.scn");
+        ScenarioWriter.save(path, saved);
+
+        WinterCompetition loaded = ScenarioReader.load(path);
+        assertInstanceOf(SkiCompetition.class, loaded);
+        assertSameSegments(arena.getSegments(), loaded.getArena().getSegments());
+        assertEquals(saved.getMaxCompetitors(), loaded.getMaxCompetitors());
+        assertEquals(saved.getDiscipline(), loaded.getDiscipline());
+        assertEquals(saved.getLeague(), loaded.getLeague());
+        assertEquals(saved.getGender(), loaded.getGender());
+        assertEquals(saved.getCompetitorCount(), loaded.getCompetitorCount());
+        for (int row = 0; row < saved.getCompetitorCount(); row++) {
+            assertSameCompetitor(saved.getCompetitor(row), loaded.getCompetitor(row));
+        }
+
+        saved.fastForward();
+        loaded.fastForward();
+        assertEquals(saved.getTurn(), loaded.getTurn());
+        assertEquals(saved.getFinishedCompetitors().toString(), loaded.getFinishedCompetitors().toString());
+    }
+
+    @Test
+    void keepsTheCompetitionType() throws IOException {
+        WinterArena arena = new WinterArena(800, SnowSurface.CRUD, WeatherCondition.CLOUDY);
+        SnowboardCompetition saved = new SnowboardCompetition(arena, 5, Discipline.SLALOM, League.JUNIOR, Gender.MALE);
+        saved.addCompetitor(new Snowboarder("boarder", 15, Gender.MALE, 2, 40, Discipline.SLALOM));
+        Path path = directory.resolve("snowboard.scn");
+        ScenarioWriter.save(path, saved);
+
+        WinterCompetition loaded = ScenarioReader.load(path);
+        assertInstanceOf(SnowboardCompetition.class, loaded);
+        assertInstanceOf(Snowboarder.class, loaded.getCompetitor(0));
+        assertSameCompetitor(saved.getCompetitor(0), loaded.getCompetitor(0));
+    }
+
+    @Test
+    void storesNamesUpToTheLongestString() throws IOException {
+        for (int length : new int[]{ScenarioFormat.MAX_STRING_BYTES - 1, ScenarioFormat.MAX_STRING_BYTES}) {
+            SkiCompetition saved = new SkiCompetition(new WinterArena(800, SnowSurface.CRUD, WeatherCondition.SUNNY), 2, Discipline.DOWNHILL, League.ADULT, Gender.MALE);
+            saved.addCompetitor(new Skier("x".repeat(length), 25, Gender.MALE, 2, 50, Discipline.DOWNHILL));
+            saved.addCompetitor(new Skier("next", 25, Gender.MALE, 2, 50, Discipline.DOWNHILL));
+            Path path = directory.resolve("long" + length + ".scn");
+            ScenarioWriter.save(path, saved);
+
+            WinterCompetition loaded = ScenarioReader.load(path);
+            assertEquals(length, ((Sportsman) loaded.getCompetitor(0)).getName().length());
+            assertEquals("next", ((Sportsman) loaded.getCompetitor(1)).getName());
+        }
+    }
+
+    @Test
+    void rejectsNamesPastTheLongestString() {
+        SkiCompetition saved = new SkiCompetition(new WinterArena(800, SnowSurface.CRUD, WeatherCondition.SUNNY), 1, Discipline.DOWNHILL, League.ADULT, Gender.MALE);
+        saved.addCompetitor(new Skier("x".repeat(ScenarioFormat.MAX_STRING_BYTES + 1), 25, Gender.MALE, 2, 50, Discipline.DOWNHILL));
+        assertThrows(IOException.class, () -> ScenarioWriter.save(directory.resolve("too-long.scn"), saved));
+    }
+
+    @Test
+    void loadsSingleSegmentVersion() throws IOException {
+        ByteBuffer file = versionOne("Ski");
+        putString(file, "veteran");
+        file.putDouble(40).put((byte) Gender.MALE.ordinal()).putDouble(3).putDouble(55).put((byte) Discipline.DOWNHILL.ordinal());
+        Path path = write(file);
+
+        WinterCompetition loaded = ScenarioReader.load(path);
+        assertSameSegments(List.of(new ArenaSegment(750, SnowSurface.ICE, WeatherCondition.CLOUDY)), loaded.getArena().getSegments());
+        assertEquals(5, loaded.getMaxCompetitors());
+        assertEquals(1, loaded.getCompetitorCount());
+        assertEquals("veteran", ((Sportsman) loaded.getCompetitor(0)).getName());
+        assertEquals(55, loaded.getCompetitor(0).getMaxSpeed());
+    }
+
+    @Test
+    void reportsUnknownCompetitionTypesAsCorrupt() throws IOException {
+        Path path = write(versionOne("Luge"));
+        IOException e = assertThrows(IOException.class, () -> ScenarioReader.load(path));
+        assertTrue(e.getMessage().startsWith("corrupt scenario"), e.getMessage());
+    }
+
+    @Test
+    void rejectsTruncatedFiles() throws IOException {
+        ByteBuffer file = versionOne("Ski");
+        file.position(file.position() - 6);
+        Path path = write(file);
+        assertThrows(IOException.class, () -> ScenarioReader.load(path));
+    }
+
+    private static void assertSameSegments(List<ArenaSegment> expected, List<ArenaSegment> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getLength(), actual.get(i).getLength());
+            assertEquals(expected.get(i).getSurface(), actual.get(i).getSurface());
+            assertEquals(expected.get(i).getCondition(), actual.get(i).getCondition());
+        }
+    }
+
+    private static void assertSameCompetitor(Competitor expected, Competitor actual) {
+        assertEquals(expected.getClass(), actual.getClass());
+        assertEquals(((Sportsman) expected).getName(), ((Sportsman) actual).getName());
+        assertEquals(((Sportsman) expected).getAge(), ((Sportsman) actual).getAge());
+        assertEquals(expected.getAcceleration(), actual.getAcceleration());
+        assertEquals(expected.getMaxSpeed(), actual.getMaxSpeed());
+    }
+
+    /**
+     * @return a version 1 file up to its first competitor: an ice arena of 750 in cloudy weather, for a downhill
+     * adult male competition of the given type with room for 5 competitors, of which 1 follows
+     */
+    private static ByteBuffer versionOne(String type) {
+        ByteBuffer file = ByteBuffer.allocate(256);
+        file.putInt(ScenarioFormat.MAGIC).putShort(ScenarioFormat.SINGLE_SEGMENT_VERSION);
+        file.putDouble(750).put((byte) SnowSurface.ICE.ordinal()).put((byte) WeatherCondition.CLOUDY.ordinal());
+        putString(file, type);
+        file.put((byte) Discipline.DOWNHILL.ordinal()).put((byte) League.ADULT.ordinal()).put((byte) Gender.MALE.ordinal());
+        file.putInt(5).putInt(1);
+        return file;
+    }
+
+    private static void putString(ByteBuffer file, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        file.putShort((short) bytes.length).put(bytes);
+    }
+
+    private Path write(ByteBuffer file) throws IOException {
+        return Files.write(Files.createTempFile(directory, "scenario", ".scn"), Arrays.copyOf(file.array(), file.position()));
+    }
+}
@@ -0,0 +1,69 @@
+package game.simulation;
+
+import game.arena.WinterArena;
+import game.competition.SkiCompetition;
+import game.entities.sportsman.Skier;
+import game.enums.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Replicas of a {@link MonteCarloSimulator} must race independent random streams, and a seed must give the same
+ * result on any pool.
+ */
+class MonteCarloSimulatorTest {
+    private static final int DRAWS = 10_000;
+
+    @Test
+    void adjacentReplicasShareNoDraws() {
+        for (long seed : new long[]{0, 1, 42, -7}) {
+            for (int replica = 0; replica < 50; replica++) {
+                Set<Long> first = draws(MonteCarloSimulator.replicaSeed(seed, replica));
+                Set<Long> next = draws(MonteCarloSimulator.replicaSeed(seed, replica + 1));
+                next.retainAll(first);
+                assertTrue(next.isEmpty(), next.size() + " draws shared by replicas " + replica + " and " + (replica + 1) + " of seed " + seed);
+            }
+        }
+    }
+
+    @Test
+    void givesTheSameResultOnAnyPool() {
+        SkiCompetition template = new SkiCompetition(new WinterArena(800, SnowSurface.CRUD, WeatherCondition.SUNNY),
+                4, Discipline.DOWNHILL, League.ADULT, Gender.MALE);
+        for (int i = 0; i < 4; i++) {
+            template.addCompetitor(new Skier("s" + i, 25, Gender.MALE, 2 + i * 0.1, 40, Discipline.DOWNHILL));
+        }
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool many = new ForkJoinPool(4);
+        try {
+            SimulationResult one = new MonteCarloSimulator(single, 0.1, 0.05, 0.05).simulate(template, 2000, 9);
+            SimulationResult four = new MonteCarloSimulator(many, 0.1, 0.05, 0.05).simulate(template, 2000, 9);
+            for (int i = 0; i < 4; i++) {
+                assertEquals(one.getWinProbability(i), four.getWinProbability(i));
+                assertEquals(one.getMeanFinishTime(i), four.getMeanFinishTime(i), 1e-9);
+            }
+        } finally {
+            single.shutdown();
+            many.shutdown();
+        }
+    }
+
+    /**
+     * @return the raw draws a replica's stream starts with, bits of its gaussians included
+     */
+    private static Set<Long> draws(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Set<Long> draws = new HashSet<>();
+        for (int i = 0; i < DRAWS; i++) {
+            draws.add(random.nextLong());
+            draws.add(Double.doubleToLongBits(random.nextGaussian()));
+        }
+        return draws;
+    }
+}
@@ -0,0 +1,131 @@
+package game.trace;
+
+import game.arena.WinterArena;
+import game.competition.RaceSnapshot;
+import game.competition.SkiCompetition;
+import game.entities.sportsman.Skier;
+import game.enums.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A race recorded by {@link TraceRecorder} must read back from {@link TraceReader} frame by frame as it was played.
+ */
+class TraceRoundTripTest {
+    private static final int FIELD_SIZE = 300;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsBackEveryRecordedTurn() throws IOException {
+        Path path = directory.resolve("race.trace");
+        List<RaceSnapshot> played = record(path);
+
+        try (TraceReader reader = new TraceReader(path)) {
+            assertEquals(FIELD_SIZE, reader.getCompetitorCount());
+            assertEquals(played.size(), reader.getFrameCount());
+            assertEquals(700, reader.getArenaLength());
+            RaceSnapshot frame = new RaceSnapshot(0);
+            for (int i = 0; i < played.size(); i++) {
+                RaceSnapshot expected = played.get(i);
+                reader.read(i, frame);
+                assertEquals(expected.getTurn(), reader.getTick(i));
+                assertEquals(expected.getTurn(), frame.getTurn());
+                assertEquals(FIELD_SIZE, frame.size());
+                for (int row = 0; row < FIELD_SIZE; row++) {
+                    assertEquals(expected.getX(row), frame.getX(row), "x of row " + row + " in frame " + i);
+                    assertEquals(row, frame.getY(row));
+                    assertEquals(expected.getSpeed(row), frame.getSpeed(row));
+                    assertEquals(expected.getState(row), frame.getState(row));
+                    assertEquals(expected.hasFinished(row), frame.hasFinished(row));
+                }
+            }
+        }
+    }
+
+    @Test
+    void findsTheFrameOfATurn() throws IOException {
+        Path path = directory.resolve("race.trace");
+        List<RaceSnapshot> played = record(path);
+
+        try (TraceReader reader = new TraceReader(path)) {
+            assertEquals(0, reader.frameAt(-3));
+            assertEquals(20, reader.frameAt(20));
+            assertEquals(played.size() - 1, reader.frameAt(Integer.MAX_VALUE));
+        }
+    }
+
+    @Test
+    void readsPixelLanesOfVersionOne() throws IOException {
+        Path path = directory.resolve("race.trace");
+        record(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate((int) TraceFormat.headerSize(FIELD_SIZE)).order(TraceFormat.ORDER);
+            channel.read(header, 0);
+            header.putInt(TraceFormat.VERSION_OFFSET, TraceFormat.PIXEL_LANES_VERSION);
+            for (int row = 0; row < FIELD_SIZE; row++) {
+                header.putDouble(TraceFormat.LANES_OFFSET + 8 * row, row * TraceFormat.PIXEL_LANE_WIDTH);
+            }
+            channel.write(header.flip(), 0);
+        }
+
+        try (TraceReader reader = new TraceReader(path)) {
+            RaceSnapshot frame = new RaceSnapshot(0);
+            reader.read(reader.getFrameCount() - 1, frame);
+            for (int row = 0; row < FIELD_SIZE; row++) {
+                assertEquals(row, reader.getLane(row));
+                assertEquals(row, frame.getY(row));
+                assertTrue(frame.hasFinished(row));
+            }
+        }
+    }
+
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        Path path = Files.write(directory.resolve("other.trace"), new byte[100]);
+        assertThrows(IOException.class, () -> new TraceReader(path));
+    }
+
+    /**
+     * record a whole race to the file
+     * @return the state after every turn, starting from before the first one, as the recorder saw it
+     */
+    private static List<RaceSnapshot> record(Path path) throws IOException {
+        WinterArena arena = new WinterArena(700, SnowSurface.CRUD, WeatherCondition.SUNNY);
+        SkiCompetition competition = new SkiCompetition(arena, FIELD_SIZE, Discipline.DOWNHILL, League.ADULT, Gender.MALE);
+        Random random = new Random(1);
+        for (int i = 0; i < FIELD_SIZE; i++) {
+            competition.addCompetitor(new Skier("s" + i, 25, Gender.MALE, 1 + random.nextDouble() * 5, 20 + random.nextDouble() * 40, Discipline.DOWNHILL));
+        }
+        List<RaceSnapshot> played = new ArrayList<>();
+        try (TraceRecorder recorder = new TraceRecorder(path, competition)) {
+            played.add(copy(competition));
+            while (competition.hasActiveCompetitors()) {
+                competition.playTurn();
+                recorder.record();
+                played.add(copy(competition));
+            }
+            assertEquals(played.size(), recorder.getFrameCount());
+        }
+        return played;
+    }
+
+    private static RaceSnapshot copy(SkiCompetition competition) {
+        RaceSnapshot snapshot = new RaceSnapshot(0);
+        competition.copySnapshot(snapshot);
+        return snapshot;
+    }
+}